@@ -7,7 +7,7 @@ import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends CrudRepository<Account, Long> {
-    boolean existsByEmailIgnoreCase(String email);
+    boolean existsByEmail(String email);
 
-    Optional<Account> findByEmailIgnoreCase(String email);
+    Optional<Account> findByEmail(String email);
 }
@@ -3,6 +3,9 @@ package dev.nj.tms.account;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
 
 @Service
 public class AccountServiceImpl implements AccountService {
@@ -17,6 +20,7 @@ public class AccountServiceImpl implements AccountService {
         this.accountMapper = accountMapper;
     }
 
+    @Transactional
     public Account register(String email, String password) {
         logger.info("Attempting to register user with email: {}", email);
         if (email == null || email.trim().isEmpty()) {
@@ -35,11 +39,12 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("Password should be at least 6 characters");
         }
 
-        if (accountRepository.existsByEmailIgnoreCase(email)) {
+        String normalizedEmail = email.toLowerCase(Locale.ROOT);
+        if (accountRepository.existsByEmail(normalizedEmail)) {
             throw new EmailAlreadyExistsException("Email already exists: " + email);
         }
 
-        Account account = accountMapper.toEntity(email, password);
+        Account account = accountMapper.toEntity(normalizedEmail, password);
         accountRepository.save(account);
 
         logger.info("Successfully registered user with email: {}", email);
@@ -1,10 +1,13 @@
 package dev.nj.tms.comment;
 
+import dev.nj.tms.config.SparseFieldset;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
@@ -34,10 +37,20 @@ public class CommentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable Long taskId) {
-        logger.info("Received request to get comments for task {}", taskId);
+    public ResponseEntity<MappingJacksonValue> getComments(@PathVariable Long taskId,
+                                                           @RequestParam(name = "fields", required = false) List<String> fields,
+                                                           WebRequest webRequest) {
+        logger.info("Received request to get comments for task {}, fields: {}", taskId, fields);
+        SparseFieldset fieldset = CommentResponse.FIELDS.select(fields);
+
+        String eTag = commentService.getCommentsETag(taskId);
+        if (webRequest.checkNotModified(eTag)) {
+            logger.info("Comments for task {} not modified since {}", taskId, eTag);
+            return null;
+        }
+
         List<CommentResponse> comments = commentService.getCommentsByTaskId(taskId);
         logger.info("Returning {} comments for task {}", comments.size(), taskId);
-        return ResponseEntity.ok(comments);
+        return ResponseEntity.ok(fieldset.apply(comments));
     }
 }
@@ -0,0 +1,4 @@
+package dev.nj.tms.comment;
+
+public record CommentCreatedEvent(CommentResponse comment) {
+}
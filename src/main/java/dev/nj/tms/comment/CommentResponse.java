@@ -1,9 +1,12 @@
 package dev.nj.tms.comment;
 
+import dev.nj.tms.config.SparseFieldset;
+
 public record CommentResponse(
         String id,
         String task_id,
         String text,
         String author
 ) {
+    public static final SparseFieldset FIELDS = SparseFieldset.of("id", "task_id", "text", "author");
 }
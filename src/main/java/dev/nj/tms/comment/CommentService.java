@@ -6,4 +6,6 @@ public interface CommentService {
     CommentResponse createComment(Long taskId, String text, String author);
 
     List<CommentResponse> getCommentsByTaskId(Long taskId);
+
+    String getCommentsETag(Long taskId);
 }
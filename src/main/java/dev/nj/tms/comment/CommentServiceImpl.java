@@ -1,11 +1,15 @@
 package dev.nj.tms.comment;
 
+import dev.nj.tms.task.TaskCommentStamp;
+import dev.nj.tms.task.TaskCommentedEvent;
 import dev.nj.tms.task.TaskNotFoundException;
 import dev.nj.tms.task.TaskRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,33 +21,52 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentServiceImpl(CommentRepository commentRepository, TaskRepository taskRepository, CommentMapper commentMapper) {
+    public CommentServiceImpl(CommentRepository commentRepository, TaskRepository taskRepository, CommentMapper commentMapper,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.taskRepository = taskRepository;
         this.commentMapper = commentMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public CommentResponse createComment(Long taskId, String text, String author) {
         logger.debug("Attempting to create comment on task {} by {}", taskId, author);
 
-        taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
-
         Comment comment = new Comment(taskId, text, author);
+
+        if (taskRepository.recordComment(taskId, author, comment.getCreated()) == 0) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+
         Comment savedComment = commentRepository.save(comment);
+        CommentResponse response = commentMapper.toResponse(savedComment);
+        eventPublisher.publishEvent(new TaskCommentedEvent(taskId));
+        eventPublisher.publishEvent(new CommentCreatedEvent(response));
 
         logger.debug("Successfully created comment {} on task {}", savedComment.getId(), taskId);
-        return commentMapper.toResponse(savedComment);
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getCommentsETag(Long taskId) {
+        return taskRepository.findCommentStamp(taskId)
+                .map(TaskCommentStamp::eTag)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByTaskId(Long taskId) {
         logger.debug("Attempting to get comments for task {}", taskId);
 
-        taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        if (!taskRepository.existsById(taskId)) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
 
         List<CommentResponse> comments = commentRepository
                 .findAllByTaskId(taskId, Sort.by(Sort.Direction.DESC, "created"))
@@ -3,6 +3,7 @@ package dev.nj.tms.config;
 import dev.nj.tms.account.AccountNotFoundException;
 import dev.nj.tms.account.EmailAlreadyExistsException;
 import dev.nj.tms.task.ForbiddenException;
+import dev.nj.tms.task.PreconditionFailedException;
 import dev.nj.tms.task.TaskNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        logger.error("Bad request: invalid value for parameter {}", ex.getName());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", "Invalid value for parameter: " + ex.getName()));
+    }
+
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleTaskNotFoundException(TaskNotFoundException ex) {
         logger.error("Task Not found: {}", ex.getMessage());
@@ -57,6 +66,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", ex.getMessage()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of("message", ex.getMessage()));
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleAccountNotFoundException(AccountNotFoundException ex) {
         logger.error("Account not found: {}", ex.getMessage());
@@ -0,0 +1,70 @@
+package dev.nj.tms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active when replicas are configured; otherwise Spring Boot's single pool is used unchanged
+@Configuration
+@ConditionalOnProperty(name = "tms.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    ReplicaStickiness replicaStickiness(@Value("${tms.datasource.replica-stickiness:5s}") Duration window) {
+        return new ReplicaStickiness(window);
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                                      @Value("${tms.datasource.replica-urls}") String[] replicaUrls,
+                                                      ReplicaStickiness replicaStickiness) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setMinimumIdle(primaryDataSource.getMinimumIdle());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replicas.add(replica);
+        }
+        logger.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaStickiness);
+    }
+
+    // The lazy proxy defers picking a pool until the first statement, by which point the transaction manager
+    // has marked the connection read-only; read-write transactions and Flyway stay on the primary
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,80 @@
+package dev.nj.tms.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Serves read-only connections: round-robin over the replicas, or the primary for recent writers
+// and for reads wrapped in onPrimary(...)
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> primaryRequired = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReplicaStickiness stickiness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaStickiness stickiness) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    // For reads that must see the latest commit regardless of who is asking
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (primaryRequired.get()) {
+            return read.get();
+        }
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            primaryRequired.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (primaryRequired.get() || stickiness.isSticky()) {
+            logger.trace("Routing read to the primary");
+            return PRIMARY;
+        }
+        String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+        logger.trace("Routing read to {}", key);
+        return key;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dev.nj.tms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+// Remembers who committed a write recently so their reads stay on the primary until the replicas have caught up.
+// Per instance: a user whose next request lands on another node may still read from a replica.
+public class ReplicaStickiness implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaStickiness(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
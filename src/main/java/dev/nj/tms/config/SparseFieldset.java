@@ -0,0 +1,47 @@
+package dev.nj.tms.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// The JSON properties a client asked for with ?fields=. Response types opt in through WebConfig's mixin.
+public record SparseFieldset(Set<String> names) {
+
+    public static final String FILTER = "fields";
+
+    public static SparseFieldset of(String... names) {
+        return new SparseFieldset(Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names))));
+    }
+
+    // No fields requested means all of them
+    public SparseFieldset select(List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return this;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : requested) {
+            String name = field.trim();
+            if (!names.contains(name)) {
+                throw new IllegalArgumentException("Invalid field: " + name + ". Must be any of: " + String.join(", ", names));
+            }
+            selected.add(name);
+        }
+        return new SparseFieldset(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+}
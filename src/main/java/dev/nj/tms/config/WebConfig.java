@@ -0,0 +1,35 @@
+package dev.nj.tms.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev.nj.tms.comment.CommentResponse;
+import dev.nj.tms.task.TaskListResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebConfig {
+
+    // Replaces reflective getter calls with generated lambdas; picked up by Boot's ObjectMapper
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // List responses can be narrowed with ?fields= (see SparseFieldset); everywhere else they serialize whole
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder -> builder
+                .mixIn(TaskListResponse.class, SparseFieldsetMixin.class)
+                .mixIn(CommentResponse.class, SparseFieldsetMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(SparseFieldset.FILTER)
+    private interface SparseFieldsetMixin {
+    }
+}
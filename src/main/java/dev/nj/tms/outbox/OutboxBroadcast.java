@@ -0,0 +1,5 @@
+package dev.nj.tms.outbox;
+
+// An outbox message as received by every node; task is the decoded payload of task.* messages, otherwise null
+public record OutboxBroadcast(OutboxMessage message, TaskPayload task) {
+}
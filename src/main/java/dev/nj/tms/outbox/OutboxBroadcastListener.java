@@ -0,0 +1,108 @@
+package dev.nj.tms.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// LISTENs for OutboxBroadcaster's notifications and republishes them on this node as OutboxBroadcast events, so
+// per-node state (page caches, SSE subscribers) follows changes made on any node. Holds one primary connection
+// for the life of the application. Notifications sent while the connection is down are not replayed.
+@Component
+public class OutboxBroadcastListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxBroadcastListener.class);
+
+    static final int POLL_MILLIS = 1000;
+    static final long RECONNECT_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxBroadcastListener(DataSource dataSource, ObjectMapper objectMapper,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "outbox-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("listen " + OutboxBroadcaster.CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.info("Listening for outbox broadcasts on {}", OutboxBroadcaster.CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Outbox broadcast connection failed, reconnecting in {} ms: {}", RECONNECT_MILLIS,
+                            e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    // A consumer failure is logged and skipped; it must not end the listener for every other message
+    void receive(String json) {
+        try {
+            OutboxMessage message = objectMapper.readValue(json, OutboxMessage.class);
+            TaskPayload task = message.type().startsWith(OutboxMessage.TASK_TYPE_PREFIX)
+                    ? objectMapper.readValue(message.payload(), TaskPayload.class)
+                    : null;
+            eventPublisher.publishEvent(new OutboxBroadcast(message, task));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.error("Failed to handle outbox broadcast: {}", json, e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
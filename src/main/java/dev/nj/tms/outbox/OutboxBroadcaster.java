@@ -0,0 +1,32 @@
+package dev.nj.tms.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Hands every relayed message to all nodes through PostgreSQL NOTIFY, sent in the relay's batch transaction:
+// a batch that rolls back is neither deleted nor broadcast, so each message reaches the nodes at least once.
+// Payloads are built from varchar(255) columns and stay well under NOTIFY's 8000-byte limit.
+@Component
+public class OutboxBroadcaster {
+
+    static final String CHANNEL = "tms_outbox";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxBroadcaster(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onMessage(OutboxMessage message) {
+        try {
+            outboxRepository.broadcast(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox message " + message.id(), e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.nj.tms.outbox;
+
+import java.time.LocalDateTime;
+
+// What OutboxRelay hands to @EventListener consumers; payload is the event as JSON
+public record OutboxMessage(long id, Long taskId, String type, String payload, LocalDateTime created) {
+
+    public static final String TASK_TYPE_PREFIX = "task.";
+    public static final String COMMENT_CREATED = "comment.created";
+    // Broadcast only, never stored: task activity was rebuilt in bulk, so every node drops its cached pages
+    public static final String ACTIVITY_REPAIRED = "activity.repaired";
+}
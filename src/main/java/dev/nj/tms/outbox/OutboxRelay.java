@@ -0,0 +1,60 @@
+package dev.nj.tms.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Drains the outbox in batches. Each batch is locked, handed to OutboxMessage listeners and deleted in one
+// transaction: a listener failure rolls the batch back for the next run (at-least-once), and other nodes
+// skip the locked rows and work on other tasks meanwhile.
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxRepository outboxRepository, ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${tms.outbox.batch-size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tms.outbox.relay-interval-ms:500}")
+    public void relay() {
+        int relayed = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            relayed += batch;
+        } while (batch == batchSize);
+        if (relayed > 0) {
+            logger.debug("Relayed {} outbox events", relayed);
+        }
+    }
+
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessage> messages = outboxRepository.lockNext(batchSize);
+            if (messages.isEmpty()) {
+                return 0;
+            }
+            messages.forEach(eventPublisher::publishEvent);
+            outboxRepository.deleteAll(messages.stream().map(OutboxMessage::id).toList());
+            return messages.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+}
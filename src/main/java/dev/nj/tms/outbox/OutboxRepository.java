@@ -0,0 +1,73 @@
+package dev.nj.tms.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class OutboxRepository {
+
+    static final int JDBC_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into outbox_event (task_id, event_type, payload, created)
+            values (?, ?, ?, ?)
+            """;
+
+    // Only the oldest pending event of each task is eligible, and rows another relay holds are skipped.
+    // A relay therefore never overtakes an earlier event of the same task that is still in flight elsewhere.
+    private static final String LOCK_NEXT_SQL = """
+            select o.id, o.task_id, o.event_type, o.payload, o.created
+            from outbox_event o
+            where o.id = (select min(e.id) from outbox_event e where e.task_id = o.task_id)
+            order by o.id
+            limit ?
+            for update skip locked
+            """;
+
+    private static final RowMapper<OutboxMessage> MESSAGE = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("task_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getObject("created", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void insertAll(List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, JDBC_BATCH_SIZE, (ps, message) -> {
+            ps.setLong(1, message.taskId());
+            ps.setString(2, message.type());
+            ps.setString(3, message.payload());
+            ps.setTimestamp(4, Timestamp.valueOf(message.created()));
+        });
+    }
+
+    public List<OutboxMessage> lockNext(int limit) {
+        return jdbcTemplate.query(LOCK_NEXT_SQL, MESSAGE, limit);
+    }
+
+    public int deleteAll(Collection<Long> ids) {
+        return namedJdbcTemplate.update("delete from outbox_event where id in (:ids)", Map.of("ids", ids));
+    }
+
+    // NOTIFY is transactional: listeners receive it when the surrounding transaction commits, never if it rolls back
+    public void broadcast(String channel, String payload) {
+        jdbcTemplate.query("select pg_notify(?, ?)", (RowCallbackHandler) rs -> {
+        }, channel, payload);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.nj.tms.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.nj.tms.comment.CommentCreatedEvent;
+import dev.nj.tms.comment.CommentResponse;
+import dev.nj.tms.task.TaskActivityEvent;
+import dev.nj.tms.task.TaskMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Turns domain events into outbox rows inside the publishing transaction. Rows are buffered per transaction
+// and written as one JDBC batch just before commit, so a bulk change costs one round trip, not one per task.
+@Component
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxRepository outboxRepository, TaskMapper taskMapper, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onTaskActivity(TaskActivityEvent event) {
+        String type = OutboxMessage.TASK_TYPE_PREFIX + event.type().name().toLowerCase(Locale.ROOT);
+        TaskPayload payload = new TaskPayload(taskMapper.toListResponse(event.task()), event.previousAssignee());
+        append(event.task().id(), type, payload);
+    }
+
+    @EventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        CommentResponse comment = event.comment();
+        append(Long.valueOf(comment.task_id()), OutboxMessage.COMMENT_CREATED, comment);
+    }
+
+    private void append(Long taskId, String type, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be published inside a transaction: " + type);
+        }
+        pending().add(new OutboxMessage(0L, taskId, type, toJson(payload), LocalDateTime.now()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxMessage> pending() {
+        List<OutboxMessage> pending = (List<OutboxMessage>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OutboxMessage> messages = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, messages);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    outboxRepository.insertAll(messages);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+                }
+            });
+            pending = messages;
+        }
+        return pending;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package dev.nj.tms.outbox;
+
+import dev.nj.tms.task.TaskListResponse;
+
+// Payload of the task.* outbox events: the task as listed after the change
+public record TaskPayload(TaskListResponse task, String previous_assignee) {
+}
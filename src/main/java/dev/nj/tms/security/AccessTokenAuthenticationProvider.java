@@ -2,6 +2,7 @@ package dev.nj.tms.security;
 
 import dev.nj.tms.account.Account;
 import dev.nj.tms.account.AccountUserDetails;
+import dev.nj.tms.config.ReplicaRoutingDataSource;
 import dev.nj.tms.token.AccessToken;
 import dev.nj.tms.token.AccessTokenRepository;
 import org.slf4j.Logger;
@@ -31,7 +32,9 @@ public class AccessTokenAuthenticationProvider implements AuthenticationProvider
         logger.info("Authenticating token: {}", token);
 
         logger.debug("Checking if token exists");
+        // The lookup reads a replica when one is configured; a token issued moments ago may not have reached it yet
         AccessToken accessToken = tokenRepository.findByToken(token)
+                .or(() -> ReplicaRoutingDataSource.onPrimary(() -> tokenRepository.findByToken(token)))
                 .orElseThrow(() -> new BadCredentialsException("Invalid token"));
 
         logger.debug("Checking if token is expired");
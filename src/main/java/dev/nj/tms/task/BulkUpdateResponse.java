@@ -0,0 +1,10 @@
+package dev.nj.tms.task;
+
+import java.util.List;
+
+public record BulkUpdateResponse(
+        List<String> updated,
+        List<String> forbidden,
+        List<String> missing
+) {
+}
@@ -0,0 +1,18 @@
+package dev.nj.tms.task;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkUpdateTaskStatusRequest(
+        @NotEmpty(message = "task_ids should not be empty")
+        @Size(max = TaskServiceImpl.MAX_BATCH_SIZE, message = "task_ids should contain at most {max} items")
+        List<@NotNull(message = "task_ids should not contain null") Long> task_ids,
+
+        @NotBlank(message = "status is required")
+        String status
+) {
+}
@@ -0,0 +1,14 @@
+package dev.nj.tms.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateTasksRequest(
+        @NotEmpty(message = "tasks should not be empty")
+        @Size(max = TaskServiceImpl.MAX_BATCH_SIZE, message = "tasks should contain at most {max} items")
+        List<@Valid CreateTaskRequest> tasks
+) {
+}
@@ -0,0 +1,6 @@
+package dev.nj.tms.task;
+
+import java.util.List;
+
+public record CreateTasksResponse(List<String> ids) {
+}
@@ -0,0 +1,303 @@
+package dev.nj.tms.task;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+
+// BM25 over title and description; title terms count twice so title matches rank first.
+// Each document keeps its list row, updated from task events, so results are served without a database read.
+class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskSearchIndex.class);
+
+    static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int TITLE_WEIGHT = 2;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final TaskRepository taskRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docsByTaskId = new HashMap<>();
+    private TaskListRow[] rows = new TaskListRow[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private long totalLength;
+    // Kept current by every write, so the gauge never walks the index under the lock
+    private long estimatedBytes = arrayBytes(rows.length);
+
+    InMemoryTaskSearchIndex(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        Gauge.builder("tms.task.search.index.tasks", this, InMemoryTaskSearchIndex::size)
+                .description("Tasks held in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("tms.task.search.index.bytes.per.task", this, InMemoryTaskSearchIndex::bytesPerTask)
+                .description("Estimated heap used by the in-memory search index per indexed task")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Events keep arriving while this runs; a task they already indexed is newer than the loaded row and is kept
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long maxId = taskRepository.maxId();
+        long started = System.nanoTime();
+        LongStream.rangeClosed(0, maxId / LOAD_BATCH_SIZE)
+                .parallel()
+                .forEach(batch -> {
+                    List<Analyzed> analyzed = taskRepository
+                            .findRowsInRange(batch * LOAD_BATCH_SIZE, (batch + 1) * LOAD_BATCH_SIZE).stream()
+                            .map(InMemoryTaskSearchIndex::analyze)
+                            .toList();
+                    addAll(analyzed, false);
+                });
+        logger.info("Indexed {} tasks for search in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskActivity(TaskActivityEvent event) {
+        add(event.task());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCommented(TaskCommentedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByTaskId.get(event.taskId());
+            if (doc != null) {
+                TaskListRow row = rows[doc];
+                replaceRow(doc, new TaskListRow(row.id(), row.title(), row.description(), row.status(), row.author(),
+                        row.assignee(), row.commentCount() + 1, row.created()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Title and description never change, so an indexed task only has its row replaced
+    void add(TaskListRow row) {
+        addAll(List.of(analyze(row)), true);
+    }
+
+    @Override
+    public List<TaskListRow> search(String text, int limit) {
+        List<String> terms = tokenize(text).stream().distinct().toList();
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matching = new ArrayList<>(terms.size());
+            int visited = 0;
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings != null) {
+                    matching.add(termPostings);
+                    visited += termPostings.size;
+                }
+            }
+
+            float averageLength = docCount == 0 ? 0 : (float) totalLength / docCount;
+            Scores scores = new Scores(visited);
+            for (Postings termPostings : matching) {
+                float idf = (float) Math.log(1 + (docCount - termPostings.size + 0.5) / (termPostings.size + 0.5));
+                for (int i = 0; i < termPostings.size; i++) {
+                    int doc = termPostings.docs[i];
+                    int frequency = termPostings.frequencies[i];
+                    float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores.add(doc, idf * frequency * (K1 + 1) / (frequency + norm));
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    double bytesPerTask() {
+        lock.readLock().lock();
+        try {
+            return docCount == 0 ? 0 : (double) estimatedBytes / docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<TaskListRow> top(Scores scores, int limit) {
+        // Min-heap of the best slots so far; ties go to the newer (higher id) task
+        PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> scores.values[a] == scores.values[b]
+                ? Long.compare(rows[scores.docs[a]].id(), rows[scores.docs[b]].id())
+                : Float.compare(scores.values[a], scores.values[b]));
+        for (int slot = 0; slot < scores.docs.length; slot++) {
+            if (scores.docs[slot] == Scores.EMPTY) {
+                continue;
+            }
+            best.offer(slot);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<TaskListRow> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(rows[scores.docs[best.poll()]]);
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private void addAll(List<Analyzed> documents, boolean replace) {
+        lock.writeLock().lock();
+        try {
+            for (Analyzed document : documents) {
+                Integer indexed = docsByTaskId.get(document.row().id());
+                if (indexed != null) {
+                    if (replace) {
+                        replaceRow(indexed, document.row());
+                    }
+                    continue;
+                }
+                int doc = docCount++;
+                if (doc == rows.length) {
+                    rows = Arrays.copyOf(rows, doc * 2);
+                    docLengths = Arrays.copyOf(docLengths, doc * 2);
+                    estimatedBytes += arrayBytes(doc);
+                }
+                rows[doc] = document.row();
+                docLengths[doc] = document.length();
+                docsByTaskId.put(document.row().id(), doc);
+                totalLength += document.length();
+                estimatedBytes += rowBytes(document.row());
+                document.frequencies().forEach((term, frequency) -> {
+                    Postings termPostings = postings.get(term);
+                    if (termPostings == null) {
+                        termPostings = new Postings();
+                        postings.put(term, termPostings);
+                        // Map node, String header and the Postings object with its two arrays
+                        estimatedBytes += 128 + term.length() * 2L + postingBytes(termPostings.docs.length);
+                    }
+                    int capacity = termPostings.docs.length;
+                    termPostings.add(doc, frequency);
+                    estimatedBytes += postingBytes(termPostings.docs.length - capacity);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void replaceRow(int doc, TaskListRow row) {
+        estimatedBytes += rowBytes(row) - rowBytes(rows[doc]);
+        rows[doc] = row;
+    }
+
+    // Rough per-task overhead: the row with its strings, plus the id map node
+    private static long rowBytes(TaskListRow row) {
+        return 160 + 2L * (length(row.title()) + length(row.description()) + length(row.author())
+                + length(row.assignee()));
+    }
+
+    private static long arrayBytes(int slots) {
+        return (long) slots * (8 + Integer.BYTES);
+    }
+
+    private static long postingBytes(int slots) {
+        return slots * 2L * Integer.BYTES;
+    }
+
+    private static Analyzed analyze(TaskListRow row) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(row.title())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : tokenize(row.description())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+        return new Analyzed(row, length, frequencies);
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    private record Analyzed(TaskListRow row, int length, Map<String, Integer> frequencies) {
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+
+    // Open-addressing doc -> score table sized to the postings a query visits, not to the whole index
+    private static final class Scores {
+        private static final int EMPTY = -1;
+
+        private final int[] docs;
+        private final float[] values;
+        private final int mask;
+
+        Scores(int maxDocs) {
+            int capacity = Integer.highestOneBit(Math.max(maxDocs, 4) * 2 - 1) << 1;
+            docs = new int[capacity];
+            values = new float[capacity];
+            mask = capacity - 1;
+            Arrays.fill(docs, EMPTY);
+        }
+
+        void add(int doc, float score) {
+            int slot = (doc * 0x9E3779B9) & mask;
+            while (docs[slot] != EMPTY && docs[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            docs[slot] = doc;
+            values[slot] += score;
+        }
+    }
+}
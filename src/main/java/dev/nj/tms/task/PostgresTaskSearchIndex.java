@@ -0,0 +1,31 @@
+package dev.nj.tms.task;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    private final TaskRepository taskRepository;
+
+    PostgresTaskSearchIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    // Ranks ids in SQL, then reads the rows by primary key and puts them back in rank order
+    @Override
+    public List<TaskListRow> search(String text, int limit) {
+        List<Long> ids = taskRepository.searchIds(text, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskListRow> rows = taskRepository.findRows(ids).stream()
+                .collect(Collectors.toMap(TaskListRow::id, Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
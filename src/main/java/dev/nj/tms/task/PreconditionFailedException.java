@@ -0,0 +1,7 @@
+package dev.nj.tms.task;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
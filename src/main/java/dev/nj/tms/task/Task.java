@@ -2,14 +2,17 @@ package dev.nj.tms.task;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -22,10 +25,23 @@ public class Task {
 
     private String assignee;
 
+    // Partition key on PostgreSQL: never updated, so a row never moves between partitions
     @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false, updatable = false)
     @JsonIgnore
     private LocalDateTime created;
 
+    @Column(nullable = false)
+    private int commentCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime lastCommentAt;
+
+    private String lastCommenter;
+
+    @Version
+    private long version;
+
     public Task() {}
 
     public Task(String title, String description, String author) {
@@ -72,4 +88,20 @@ public class Task {
     public LocalDateTime getCreated() {
         return created;
     }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public LocalDateTime getLastCommentAt() {
+        return lastCommentAt;
+    }
+
+    public String getLastCommenter() {
+        return lastCommenter;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
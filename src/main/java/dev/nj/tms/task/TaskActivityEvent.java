@@ -0,0 +1,14 @@
+package dev.nj.tms.task;
+
+import java.util.Locale;
+
+public record TaskActivityEvent(Type type, TaskListRow task, String previousAssignee) {
+
+    public enum Type {
+        CREATED, ASSIGNED, STATUS, COMMENTED;
+
+        String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
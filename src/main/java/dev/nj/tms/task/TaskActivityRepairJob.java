@@ -0,0 +1,96 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.outbox.OutboxBroadcaster;
+import dev.nj.tms.outbox.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+// Rebuilds the per-task comment activity summary. Runs on the cron when one is set, or once at startup with
+// tms.task-activity.repair-on-startup=true; either way only one node at a time does the work.
+@Component
+public class TaskActivityRepairJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskActivityRepairJob.class);
+    private static final int BATCH_SIZE = 500;
+
+    // A session-level advisory lock, held on a connection of its own across the per-range commits. A node that
+    // dies mid-run drops the connection and with it the lock.
+    private static final String LOCK_SQL = "select pg_try_advisory_lock(hashtext('task_activity_repair'))";
+    private static final String UNLOCK_SQL = "select pg_advisory_unlock(hashtext('task_activity_repair'))";
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskPageCache taskPageCache;
+    private final OutboxBroadcaster outboxBroadcaster;
+    private final boolean repairOnStartup;
+
+    public TaskActivityRepairJob(TaskRepository taskRepository, JdbcTemplate jdbcTemplate,
+                                 TaskPageCache taskPageCache, OutboxBroadcaster outboxBroadcaster,
+                                 @Value("${tms.task-activity.repair-on-startup:false}") boolean repairOnStartup) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskPageCache = taskPageCache;
+        this.outboxBroadcaster = outboxBroadcaster;
+        this.repairOnStartup = repairOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        if (repairOnStartup) {
+            rebuildActivity();
+        }
+    }
+
+    @Scheduled(cron = "${tms.task-activity.repair-cron:-}")
+    public void rebuildActivity() {
+        logger.info("Running task activity repair job");
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!query(connection, LOCK_SQL)) {
+                return false;
+            }
+            try {
+                repair();
+            } finally {
+                query(connection, UNLOCK_SQL);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(ran)) {
+            logger.info("Task activity repair is already running on another node, skipping");
+        }
+    }
+
+    // Each key range commits on its own, so comments keep landing on tasks outside the current batch. The raw
+    // updates bypass the page cache's events, so every node is told to drop its pages once the repair is done.
+    private void repair() {
+        long maxId = taskRepository.maxId();
+        int repaired = 0;
+        for (long fromId = 0L; fromId <= maxId; fromId += BATCH_SIZE) {
+            repaired += taskRepository.repairActivity(fromId, fromId + BATCH_SIZE);
+        }
+        taskPageCache.clear();
+        outboxBroadcaster.onMessage(new OutboxMessage(0L, null, OutboxMessage.ACTIVITY_REPAIRED, "{}",
+                LocalDateTime.now()));
+        logger.info("Rebuilt activity summary for {} tasks", repaired);
+    }
+
+    private static boolean query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+}
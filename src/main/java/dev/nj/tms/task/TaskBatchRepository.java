@@ -0,0 +1,13 @@
+package dev.nj.tms.task;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskBatchRepository {
+
+    List<Long> insertAll(List<Task> tasks);
+
+    List<UpdatedTask> assignAll(Collection<Long> ids, String assignee, String author, Long expectedVersion);
+
+    List<UpdatedTask> updateStatusAll(Collection<Long> ids, TaskStatus status, String user, Long expectedVersion);
+}
@@ -0,0 +1,142 @@
+package dev.nj.tms.task;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Set-based writes that skip the persistence context. Bulk inserts reserve ids up front from task_seq and go out as
+// plain JDBC batches that pgjdbc rewrites into multi-row inserts; bulk updates are single UPDATE ... RETURNING
+// statements whose WHERE clause carries the permission check
+class TaskBatchRepositoryImpl implements TaskBatchRepository {
+
+    static final int JDBC_BATCH_SIZE = 1000;
+
+    // Must match the increment of task_seq (and Task's allocationSize): each nextval reserves this many ids
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String RESERVE_IDS_SQL = "select nextval('task_seq') from generate_series(1, ?)";
+
+    private static final String INSERT_SQL = """
+            insert into task (id, title, description, status, author, assignee, created, comment_count)
+            values (?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    // The CTE locks the rows before reading the assignee that RETURNING reports as replaced: a concurrent assign
+    // commits first and the lock re-reads its row, so previous_assignee is never a value already overwritten.
+    // Locking in id order keeps two overlapping bulk assigns from deadlocking on each other.
+    private static final String ASSIGN_SQL = """
+            with before_update as (
+                select t.id, t.created, t.assignee
+                from task t
+                where t.id in (:ids) and t.author = :author%s
+                order by t.id
+                for update
+            )
+            update task t
+            set assignee = :assignee, version = t.version + 1
+            from before_update
+            where t.id = before_update.id and t.created = before_update.created
+            returning t.*, before_update.assignee as previous_assignee
+            """;
+
+    private static final String UPDATE_STATUS_SQL = """
+            update task t
+            set status = :status, version = t.version + 1
+            where t.id in (:ids) and (t.author = :user or t.assignee = :user)%s
+            returning t.*, t.assignee as previous_assignee
+            """;
+
+    private static final String VERSION_CONDITION = " and t.version = :expectedVersion";
+
+    private static final RowMapper<UpdatedTask> UPDATED_TASK = (rs, rowNum) -> new UpdatedTask(
+            new TaskListRow(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    TaskStatus.values()[rs.getShort("status")],
+                    rs.getString("author"),
+                    rs.getString("assignee"),
+                    rs.getInt("comment_count"),
+                    rs.getObject("created", LocalDateTime.class)),
+            rs.getString("previous_assignee"),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    TaskBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public List<Long> insertAll(List<Task> tasks) {
+        List<Long> ids = reserveIds(tasks.size());
+        for (int from = 0; from < tasks.size(); from += JDBC_BATCH_SIZE) {
+            int offset = from;
+            List<Task> chunk = tasks.subList(from, Math.min(from + JDBC_BATCH_SIZE, tasks.size()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Task task = chunk.get(i);
+                    ps.setLong(1, ids.get(offset + i));
+                    ps.setString(2, task.getTitle());
+                    ps.setString(3, task.getDescription());
+                    ps.setShort(4, (short) task.getStatus().ordinal());
+                    ps.setString(5, task.getAuthor());
+                    ps.setString(6, task.getAssignee());
+                    ps.setObject(7, task.getCreated());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+        return ids;
+    }
+
+    @Override
+    public List<UpdatedTask> assignAll(Collection<Long> ids, String assignee, String author, Long expectedVersion) {
+        return namedJdbcTemplate.query(ASSIGN_SQL.formatted(versionCondition(expectedVersion)), new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("assignee", assignee, Types.VARCHAR)
+                .addValue("author", author)
+                .addValue("expectedVersion", expectedVersion), UPDATED_TASK);
+    }
+
+    @Override
+    public List<UpdatedTask> updateStatusAll(Collection<Long> ids, TaskStatus status, String user, Long expectedVersion) {
+        return namedJdbcTemplate.query(UPDATE_STATUS_SQL.formatted(versionCondition(expectedVersion)), new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("status", (short) status.ordinal())
+                .addValue("user", user)
+                .addValue("expectedVersion", expectedVersion), UPDATED_TASK);
+    }
+
+    private static String versionCondition(Long expectedVersion) {
+        return expectedVersion != null ? VERSION_CONDITION : "";
+    }
+
+    private List<Long> reserveIds(int count) {
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        for (Long blockStart : jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, blocks)) {
+            for (int i = 0; i < ID_BLOCK_SIZE && ids.size() < count; i++) {
+                ids.add(blockStart + i);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,4 @@
+package dev.nj.tms.task;
+
+public record TaskChangedEvent(String author, String previousAssignee, String assignee) {
+}
@@ -0,0 +1,16 @@
+package dev.nj.tms.task;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+public record TaskCommentStamp(int commentCount, LocalDateTime lastCommentAt) {
+
+    public String eTag() {
+        long lastCommentMicros = lastCommentAt != null
+                ? ChronoUnit.MICROS.between(Instant.EPOCH, lastCommentAt.toInstant(ZoneOffset.UTC))
+                : 0;
+        return "comments-" + commentCount + "-" + lastCommentMicros;
+    }
+}
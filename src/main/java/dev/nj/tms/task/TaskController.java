@@ -1,20 +1,31 @@
 package dev.nj.tms.task;
 
+import dev.nj.tms.config.SparseFieldset;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final TaskService taskService;
 
@@ -23,25 +34,55 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskListResponse>> getTasks(@RequestParam(name = "author", required = false) String author,
-                                                       @RequestParam(name = "assignee", required = false) String assignee) {
-        logger.info("Received request to get tasks, author filter: [{}], assignee filter: [{}]", author, assignee);
-        List<TaskListResponse> tasks;
-
-        if (author != null && assignee != null) {
-            tasks = taskService.getTasksByAuthorAndAssignee(author, assignee);
-        } else if (author != null) {
-            tasks = taskService.getTasksByAuthor(author);
-        } else if (assignee != null) {
-            tasks = taskService.getTasksByAssignee(assignee);
-        } else {
-            tasks = taskService.getTasks();
+    public ResponseEntity<MappingJacksonValue> getTasks(@RequestParam(name = "status", required = false) List<String> statuses,
+                                                       @RequestParam(name = "author", required = false) String author,
+                                                       @RequestParam(name = "assignee", required = false) String assignee,
+                                                       @RequestParam(name = "createdFrom", required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                       @RequestParam(name = "createdTo", required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                       @RequestParam(name = "cursor", required = false) String cursor,
+                                                       @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                       @RequestParam(name = "fields", required = false) List<String> fields,
+                                                       WebRequest webRequest) {
+        TaskQuery query = toQuery(statuses, author, assignee, createdFrom, createdTo);
+        logger.info("Received request to get tasks matching: {}, cursor: [{}], limit: {}, fields: {}", query, cursor, limit, fields);
+        TaskCursor after = cursor != null ? TaskCursor.decode(cursor) : TaskCursor.FIRST;
+        SparseFieldset fieldset = TaskListResponse.FIELDS.select(fields);
+
+        String eTag = taskService.getTasksETag(query, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            logger.info("Tasks not modified since {}", eTag);
+            return null;
+        }
+
+        TaskPage page = taskService.getTasks(query, after, limit, fieldset);
+
+        logger.info("Returning {} tasks", page.tasks().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.next());
         }
+        return response.body(fieldset.apply(page.tasks()));
+    }
 
-        logger.info("Returning {} tasks", tasks.size());
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskListResponse>> searchTasks(@RequestParam(name = "q") String text,
+                                                              @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        logger.info("Received request to search tasks for: [{}], limit: {}", text, limit);
+        List<TaskListResponse> tasks = taskService.searchTasks(text, limit);
+        logger.info("Returning {} matching tasks", tasks.size());
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTasks(@RequestParam(name = "author", required = false) String author,
+                                       @RequestParam(name = "assignee", required = false) String assignee) {
+        TaskQuery query = toQuery(null, author, assignee, null, null);
+        logger.info("Received request to subscribe to task changes matching: {}", query);
+        return taskService.subscribe(query);
+    }
+
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest taskRequest,
                                                    Principal principal) {
@@ -49,36 +90,100 @@ public class TaskController {
         logger.info("Received request to create a task by: {}", author);
         TaskResponse response = taskService.createTask(taskRequest.title(), taskRequest.description(), author);
         logger.info("Successfully created task with id {} by: {}", response.id(), author);
+        return ResponseEntity.ok().eTag(String.valueOf(response.version())).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<CreateTasksResponse> createTasks(@Valid @RequestBody CreateTasksRequest request,
+                                                           Principal principal) {
+        String author = principal.getName().toLowerCase(Locale.ROOT);
+        logger.info("Received request to create {} tasks by: {}", request.tasks().size(), author);
+        List<Long> ids = taskService.createTasks(request.tasks(), author);
+        logger.info("Successfully created {} tasks by: {}", ids.size(), author);
+        return ResponseEntity.ok(new CreateTasksResponse(ids.stream().map(String::valueOf).toList()));
+    }
+
+    @PutMapping("/batch/assign")
+    public ResponseEntity<BulkUpdateResponse> assignTasks(@Valid @RequestBody BulkAssignTasksRequest request,
+                                                          Principal principal) {
+        String authorEmail = principal.getName().toLowerCase(Locale.ROOT);
+        logger.info("Received request to assign {} tasks to {} by {}", request.task_ids().size(), request.assignee(), authorEmail);
+        BulkUpdateResponse response = taskService.assignTasks(request.task_ids(), request.assignee(), authorEmail);
+        logger.info("Assigned {} tasks to {}, forbidden: {}, missing: {}", response.updated().size(), request.assignee(),
+                response.forbidden().size(), response.missing().size());
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/batch/status")
+    public ResponseEntity<BulkUpdateResponse> updateTasksStatus(@Valid @RequestBody BulkUpdateTaskStatusRequest request,
+                                                                Principal principal) {
+        String userEmail = principal.getName().toLowerCase(Locale.ROOT);
+        logger.info("Received request to update {} tasks status to {} by {}", request.task_ids().size(), request.status(), userEmail);
+
+        TaskStatus status = parseStatus(request.status());
+
+        BulkUpdateResponse response = taskService.updateTasksStatus(request.task_ids(), status, userEmail);
+        logger.info("Updated {} tasks status to {}, forbidden: {}, missing: {}", response.updated().size(), status,
+                response.forbidden().size(), response.missing().size());
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{taskId}/assign")
     public ResponseEntity<TaskResponse> assignTask(@PathVariable Long taskId,
                                                    @Valid @RequestBody AssignTaskRequest request,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                    Principal principal) {
         String authorEmail = principal.getName().toLowerCase(Locale.ROOT);
         logger.info("Received request to assign task {} to {} by {}", taskId, request.assignee(), authorEmail);
-        TaskResponse response = taskService.assignTask(taskId, request.assignee(), authorEmail);
+        TaskResponse response = taskService.assignTask(taskId, request.assignee(), authorEmail, parseIfMatch(ifMatch));
         logger.info("Successfully assigned task {} to {}", taskId, request.assignee());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(String.valueOf(response.version())).body(response);
     }
 
     @PutMapping("/{taskId}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable Long taskId,
                                                          @Valid @RequestBody UpdateTaskStatusRequest request,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                          Principal principal) {
         String authorEmail = principal.getName().toLowerCase(Locale.ROOT);
         logger.info("Received request to update task {} stats to {} by {}", taskId, request.status(), authorEmail);
 
-        TaskStatus status;
+        TaskStatus status = parseStatus(request.status());
+
+        TaskResponse response = taskService.updateTaskStatus(taskId, status, authorEmail, parseIfMatch(ifMatch));
+        logger.info("Successfully updated task {} status to {}", taskId, status);
+        return ResponseEntity.ok().eTag(String.valueOf(response.version())).body(response);
+    }
+
+    static TaskQuery toQuery(List<String> statuses, String author, String assignee,
+                             LocalDateTime createdFrom, LocalDateTime createdTo) {
+        Set<TaskStatus> parsedStatuses = statuses == null ? Set.of() : statuses.stream()
+                .map(TaskController::parseStatus)
+                .collect(Collectors.toSet());
+        return new TaskQuery(parsedStatuses, author, assignee, createdFrom, createdTo);
+    }
+
+    private static TaskStatus parseStatus(String status) {
         try {
-            status = TaskStatus.valueOf(request.status());
+            return TaskStatus.valueOf(status);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status value. Must be one of: CREATED, IN_PROGRESS, COMPLETED");
         }
+    }
 
-        TaskResponse response = taskService.updateTaskStatus(taskId, status, authorEmail);
-        logger.info("Successfully updated task {} status to {}", taskId, status);
-        return ResponseEntity.ok(response);
+    // A task ETag is its version; "*" (or no header) means the update is unconditional
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a task ETag");
+        }
     }
 }
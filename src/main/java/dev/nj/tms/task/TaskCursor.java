@@ -0,0 +1,35 @@
+package dev.nj.tms.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record TaskCursor(LocalDateTime created, Long id) {
+
+    public static final TaskCursor FIRST = new TaskCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor after(TaskListRow row) {
+        return new TaskCursor(row.created(), row.id());
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new TaskCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = created + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.nj.tms.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// The NDJSON export renders its own errors as one JSON line, so no other endpoint has to offer application/x-ndjson
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExportController.class);
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportController(TaskService taskService, ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTasks(@RequestParam(name = "status", required = false) List<String> statuses,
+                            @RequestParam(name = "author", required = false) String author,
+                            @RequestParam(name = "assignee", required = false) String assignee,
+                            @RequestParam(name = "createdFrom", required = false)
+                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                            @RequestParam(name = "createdTo", required = false)
+                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                            HttpServletResponse response) throws IOException {
+        TaskQuery query = TaskController.toQuery(statuses, author, assignee, createdFrom, createdTo);
+        logger.info("Received request to stream tasks matching: {}", query);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream body = response.getOutputStream();
+        long count = taskService.streamTasks(query, task -> writeLine(body, task));
+        body.flush();
+        logger.info("Streamed {} tasks", count);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public void handleIllegalArgumentException(IllegalArgumentException ex, HttpServletResponse response) throws IOException {
+        logger.error("Bad request: {}", ex.getMessage());
+        writeError(response, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public void handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex,
+                                                 HttpServletResponse response) throws IOException {
+        logger.error("Bad request: invalid value for parameter {}", ex.getName());
+        writeError(response, HttpStatus.BAD_REQUEST, "Invalid value for parameter: " + ex.getName());
+    }
+
+    // Once lines have been sent the status is already committed; the client sees a truncated stream instead
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        if (response.isCommitted()) {
+            logger.warn("Task export failed after the response was committed: {}", message);
+            return;
+        }
+        response.resetBuffer();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream body = response.getOutputStream();
+        body.write(objectMapper.writeValueAsBytes(Map.of("message", message)));
+        body.write('\n');
+        body.flush();
+    }
+
+    private void writeLine(OutputStream body, TaskListResponse task) {
+        try {
+            body.write(objectMapper.writeValueAsBytes(task));
+            body.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.outbox.OutboxBroadcast;
+import dev.nj.tms.outbox.OutboxMessage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed task changes, as relayed through the outbox, to SSE subscribers. Subscribers are async
+// requests, so an idle one holds no servlet thread. One feed thread matches events to subscribers; each
+// subscriber has its own bounded queue, written by at most one thread of a fixed sender pool at a time. A
+// subscriber whose queue fills up, or whose write has been blocked longer than the send timeout, has fallen
+// behind and is dropped, so stalled clients cannot keep sender threads from everyone else for long.
+@Component
+public class TaskFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskFeed.class);
+
+    static final int FAN_OUT_QUEUE_CAPACITY = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final Duration timeout;
+    private final int subscriberQueueCapacity;
+    private final long sendTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService fanOut = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(FAN_OUT_QUEUE_CAPACITY), daemonThreads("task-feed"),
+            (task, executor) -> overflowed());
+    // Each subscriber has at most one drain queued or running, so the pool's queue is bounded by the subscribers
+    private final ExecutorService senders;
+
+    public TaskFeed(TaskRepository taskRepository, TaskMapper taskMapper,
+                    @Value("${tms.task-feed.timeout:30m}") Duration timeout,
+                    @Value("${tms.task-feed.subscriber-queue-capacity:100}") int subscriberQueueCapacity,
+                    @Value("${tms.task-feed.sender-threads:8}") int senderThreads,
+                    @Value("${tms.task-feed.send-timeout:10s}") Duration sendTimeout) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.timeout = timeout;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("task-feed-send"));
+    }
+
+    public SseEmitter subscribe(TaskQuery query) {
+        return subscribe(query, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(TaskQuery query, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(query, emitter, new ArrayBlockingQueue<>(subscriberQueueCapacity));
+        emitter.onCompletion(subscriber::finished);
+        emitter.onError(e -> subscriber.finished());
+        subscribers.add(subscriber);
+        logger.debug("Task feed subscriber added for {}, {} subscribed", query, subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Driven by the outbox broadcast rather than local events, so subscribers on every node see changes made on
+    // any node. Comments only carry their task id; the row is read once, on the feed thread.
+    @EventListener
+    public void onOutboxBroadcast(OutboxBroadcast broadcast) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        OutboxMessage message = broadcast.message();
+        if (broadcast.task() != null) {
+            TaskActivityEvent.Type type = TaskActivityEvent.Type.valueOf(
+                    message.type().substring(OutboxMessage.TASK_TYPE_PREFIX.length()).toUpperCase(Locale.ROOT));
+            fanOut.execute(() -> publish(type, broadcast.task().task(), broadcast.task().previous_assignee()));
+        } else if (OutboxMessage.COMMENT_CREATED.equals(message.type())) {
+            fanOut.execute(() -> taskRepository.findRows(List.of(message.taskId())).forEach(row ->
+                    publish(TaskActivityEvent.Type.COMMENTED, taskMapper.toListResponse(row), row.assignee())));
+        }
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away without a FIN
+    @Scheduled(fixedRateString = "${tms.task-feed.heartbeat-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            fanOut.execute(() -> subscribers.forEach(subscriber ->
+                    subscriber.offer(SseEmitter.event().comment("ping"))));
+        }
+    }
+
+    // A write blocked past the send timeout drops its subscriber: nothing more is queued for it, and its emitter is
+    // completed as soon as the connector's own write timeout releases the sender thread
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.SECONDS)
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendingLongerThan(sendTimeoutNanos, now)) {
+                subscriber.drop("send blocked for over " + Duration.ofNanos(sendTimeoutNanos));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        fanOut.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+
+    // Skipping the event would leave subscribers silently out of date, so every one of them is disconnected
+    // instead; clients reconnect and re-read the list
+    private void overflowed() {
+        logger.warn("Task feed is {} events behind, disconnecting {} subscribers", FAN_OUT_QUEUE_CAPACITY,
+                subscribers.size());
+        subscribers.forEach(subscriber -> subscriber.close("task feed overflowed"));
+    }
+
+    private void publish(TaskActivityEvent.Type type, TaskListResponse task, String previousAssignee) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.query().concerns(task.author(), previousAssignee, task.assignee())) {
+                subscriber.offer(SseEmitter.event()
+                        .name(type.eventName())
+                        .data(task, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+
+        private final TaskQuery query;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean dropped;
+        private volatile boolean sending;
+        private volatile long sendStartedAt;
+
+        Subscriber(TaskQuery query, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> pending) {
+            this.query = query;
+            this.emitter = emitter;
+            this.pending = pending;
+        }
+
+        TaskQuery query() {
+            return query;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        // Never blocks the feed thread; a full queue means the client is not reading
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                close(pending.size() + " events behind");
+            } else {
+                scheduleDrain();
+            }
+        }
+
+        boolean sendingLongerThan(long nanos, long now) {
+            return sending && now - sendStartedAt > nanos;
+        }
+
+        // Drops the subscriber and has a sender complete its emitter
+        void close(String reason) {
+            drop(reason);
+            scheduleDrain();
+        }
+
+        // The emitter completed or failed on its own; nothing is left to complete
+        void finished() {
+            closed.set(true);
+            drop(null);
+        }
+
+        void drop(String reason) {
+            if (reason != null && !dropped) {
+                logger.debug("Dropping task feed subscriber for {}: {}", query, reason);
+            }
+            dropped = true;
+            subscribers.remove(this);
+            pending.clear();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // A failed write means the client is gone; the container reports the error and completes the emitter.
+        // A dropped subscriber is completed here, once any write in progress has returned.
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = pending.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    sending = true;
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        sending = false;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(e.getMessage());
+            } finally {
+                draining.set(false);
+            }
+            if (dropped) {
+                if (closed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } else if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.config.SparseFieldset;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Reads "my authored" / "my assigned" pages from task_inbox (kept current by a trigger, see V10__task_inbox.sql).
+// The page of ids is a bounded range read; each id is then joined on (id, created), which hits one partition.
+@Repository
+public class TaskInbox {
+
+    private static final int AUTHOR = 0;
+    private static final int ASSIGNEE = 1;
+
+    private static final String PAGE_SQL = """
+            select t.id, t.title, %s as description, t.status, %s as author, %s as assignee,
+                   %s as comment_count, t.created
+            from (
+                select i.task_id, i.created
+                from task_inbox i
+                where i.email = :email and i.role = :role
+                  and i.created <= :afterCreated and (i.created < :afterCreated or i.task_id < :afterId)%s
+                order by i.created desc, i.task_id desc
+                limit :limit
+            ) page
+            join task t on t.id = page.task_id and t.created = page.created
+            order by t.created desc, t.id desc
+            """;
+
+    private static final RowMapper<TaskListRow> ROW = (rs, rowNum) -> new TaskListRow(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            TaskStatus.values()[rs.getShort("status")],
+            rs.getString("author"),
+            rs.getString("assignee"),
+            rs.getInt("comment_count"),
+            rs.getObject("created", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TaskInbox(JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // Exactly one person filter: an author, or a named assignee
+    public boolean covers(TaskQuery query) {
+        return (query.author() != null) != (query.assignee() != null) && !query.unassigned();
+    }
+
+    public List<TaskListRow> findPage(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields) {
+        boolean byAuthor = query.author() != null;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("email", byAuthor ? query.author() : query.assignee())
+                .addValue("role", byAuthor ? AUTHOR : ASSIGNEE)
+                .addValue("afterCreated", after.created())
+                .addValue("afterId", after.id())
+                .addValue("limit", limit);
+
+        StringBuilder filters = new StringBuilder();
+        if (!query.statuses().isEmpty()) {
+            filters.append(" and i.status in (:statuses)");
+            params.addValue("statuses", query.statuses().stream().map(TaskStatus::ordinal).toList());
+        }
+        if (query.createdFrom() != null) {
+            filters.append(" and i.created >= :createdFrom");
+            params.addValue("createdFrom", query.createdFrom());
+        }
+        if (query.createdTo() != null) {
+            filters.append(" and i.created < :createdTo");
+            params.addValue("createdTo", query.createdTo());
+        }
+
+        String sql = PAGE_SQL.formatted(
+                column(fields, "description", "t.description", "null"),
+                column(fields, "author", "t.author", "null"),
+                column(fields, "assignee", "t.assignee", "null"),
+                column(fields, "total_comments", "t.comment_count", "0"),
+                filters);
+        return namedJdbcTemplate.query(sql, params, ROW);
+    }
+
+    private static String column(SparseFieldset fields, String field, String column, String otherwise) {
+        return fields.includes(field) ? column : otherwise;
+    }
+}
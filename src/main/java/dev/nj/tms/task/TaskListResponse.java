@@ -1,5 +1,7 @@
 package dev.nj.tms.task;
 
+import dev.nj.tms.config.SparseFieldset;
+
 public record TaskListResponse(
         String id,
         String title,
@@ -9,4 +11,6 @@ public record TaskListResponse(
         String assignee,
         int total_comments
 ) {
+    public static final SparseFieldset FIELDS =
+            SparseFieldset.of("id", "title", "description", "status", "author", "assignee", "total_comments");
 }
@@ -0,0 +1,15 @@
+package dev.nj.tms.task;
+
+import java.time.LocalDateTime;
+
+public record TaskListRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        String author,
+        String assignee,
+        int commentCount,
+        LocalDateTime created
+) {
+}
@@ -1,17 +1,10 @@
 package dev.nj.tms.task;
 
-import dev.nj.tms.comment.CommentRepository;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TaskMapper {
 
-    private final CommentRepository commentRepository;
-
-    public TaskMapper(CommentRepository commentRepository) {
-        this.commentRepository = commentRepository;
-    }
-
     public TaskResponse toResponse(Task task) {
         return new TaskResponse(
                 task.getId().toString(),
@@ -19,20 +12,32 @@ public class TaskMapper {
                 task.getDescription(),
                 task.getStatus().toString(),
                 task.getAuthor(),
-                task.getAssignee() != null ? task.getAssignee() : "none"
+                task.getAssignee() != null ? task.getAssignee() : "none",
+                task.getVersion()
+        );
+    }
+
+    public TaskResponse toResponse(TaskListRow row, long version) {
+        return new TaskResponse(
+                row.id().toString(),
+                row.title(),
+                row.description(),
+                row.status().toString(),
+                row.author(),
+                row.assignee() != null ? row.assignee() : "none",
+                version
         );
     }
 
-    public TaskListResponse toListResponse(Task task) {
-        int totalComments = (int) commentRepository.countByTaskId(task.getId());
+    public TaskListResponse toListResponse(TaskListRow row) {
         return new TaskListResponse(
-                task.getId().toString(),
-                task.getTitle(),
-                task.getDescription(),
-                task.getStatus().toString(),
-                task.getAuthor(),
-                task.getAssignee() != null ? task.getAssignee() : "none",
-                totalComments
+                row.id().toString(),
+                row.title(),
+                row.description(),
+                row.status().toString(),
+                row.author(),
+                row.assignee() != null ? row.assignee() : "none",
+                row.commentCount()
         );
     }
 }
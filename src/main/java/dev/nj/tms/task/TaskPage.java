@@ -0,0 +1,10 @@
+package dev.nj.tms.task;
+
+import java.util.List;
+
+public record TaskPage(
+        List<TaskListResponse> tasks,
+        String next
+) {
+    public static final int MAX_LIMIT = 500;
+}
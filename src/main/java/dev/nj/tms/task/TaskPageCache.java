@@ -0,0 +1,268 @@
+package dev.nj.tms.task;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import dev.nj.tms.config.ReplicaRoutingDataSource;
+import dev.nj.tms.config.SparseFieldset;
+import dev.nj.tms.outbox.OutboxBroadcast;
+import dev.nj.tms.outbox.OutboxMessage;
+import dev.nj.tms.outbox.TaskPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+@Component
+public class TaskPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPageCache.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final LoadingCache<Key, TaskPage> pages;
+    // Cached keys per listed task id, so a comment evicts its pages without scanning every cached row
+    private final Map<String, Set<Key>> keysByTask = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that saw an older generation may hold pre-commit rows and is not cached
+    private final AtomicLong generation = new AtomicLong();
+    // Evictions take the write lock, so a page is never published between a bump and the removals that follow it
+    private final ReadWriteLock evictionLock = new ReentrantReadWriteLock();
+    private final long replicaLagNanos;
+    private volatile long lastEvictedAt = System.nanoTime();
+    // The list version is this node's count of completed evictions, tagged with an id drawn at startup. A change
+    // made on any node only moves it once this node has dropped the affected pages, so a new version is never
+    // served with a stale page; versions issued by other nodes or before a restart never match.
+    private final String node = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong appliedVersion = new AtomicLong();
+
+    public TaskPageCache(TaskRepository taskRepository, TaskMapper taskMapper,
+                         @Value("${tms.task-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${tms.task-cache.expire-after-write:60s}") Duration expireAfterWrite,
+                         @Value("${tms.task-cache.refresh-after-write:10s}") Duration refreshAfterWrite,
+                         @Value("${tms.datasource.replica-stickiness:5s}") Duration replicaLag) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.replicaLagNanos = replicaLag.toNanos();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .evictionListener((Key key, TaskPage page, RemovalCause cause) -> unindex(key, page))
+                .build(new CacheLoader<>() {
+                    @Override
+                    public TaskPage load(Key key) {
+                        return TaskPageCache.this.load(key);
+                    }
+
+                    @Override
+                    public TaskPage reload(Key key, TaskPage oldPage) {
+                        return TaskPageCache.this.reload(key, oldPage);
+                    }
+                });
+    }
+
+    public TaskPage get(TaskQuery query, TaskCursor after, int limit) {
+        return get(query, after, limit, TaskListResponse.FIELDS);
+    }
+
+    public TaskPage get(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields) {
+        Key key = new Key(query, after, limit, fields);
+        TaskPage cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        TaskPage page = load(key);
+        evictionLock.readLock().lock();
+        try {
+            if (generation.get() == loadedAt) {
+                // A concurrent miss may have cached the key first; its page is replaced, not evicted, so no
+                // listener unindexes it. Swapping inside compute keeps two puts of one key from interleaving.
+                pages.asMap().compute(key, (k, previous) -> {
+                    if (previous != null) {
+                        unindex(k, previous);
+                    }
+                    index(k, page);
+                    return page;
+                });
+            } else {
+                logger.debug("Not caching task page {} loaded across an eviction", key);
+            }
+        } finally {
+            evictionLock.readLock().unlock();
+        }
+        return page;
+    }
+
+    public String version() {
+        return node + "-" + appliedVersion.get();
+    }
+
+    public void clear() {
+        evictionLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            lastEvictedAt = System.nanoTime();
+            pages.invalidateAll();
+            keysByTask.clear();
+            appliedVersion.incrementAndGet();
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    // Each eviction bumps the version last, so a new ETag is never served with a stale cached page
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evictionLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            lastEvictedAt = System.nanoTime();
+            pages.asMap().keySet().stream().filter(key -> key.matches(event)).toList().forEach(this::evict);
+            appliedVersion.incrementAndGet();
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+        logger.debug("Evicted task pages affected by {}", event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCommented(TaskCommentedEvent event) {
+        String taskId = event.taskId().toString();
+        evictionLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            lastEvictedAt = System.nanoTime();
+            Set<Key> keys = keysByTask.remove(taskId);
+            if (keys != null) {
+                keys.forEach(this::evict);
+            }
+            appliedVersion.incrementAndGet();
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+        logger.debug("Evicted task pages containing task {}", taskId);
+    }
+
+    // Changes committed on other nodes reach this cache through the outbox broadcast. Local changes come by here
+    // again and evict a second time, which costs a reload of the affected pages but never serves a stale one.
+    // Until the broadcast arrives this node keeps answering with its old version, matching the pages it holds.
+    @EventListener
+    public void onOutboxBroadcast(OutboxBroadcast broadcast) {
+        OutboxMessage message = broadcast.message();
+        TaskPayload task = broadcast.task();
+        evictionLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            lastEvictedAt = System.nanoTime();
+            if (task != null) {
+                TaskChangedEvent event = new TaskChangedEvent(task.task().author(), task.previous_assignee(),
+                        task.task().assignee());
+                pages.asMap().keySet().stream().filter(key -> key.matches(event)).toList().forEach(this::evict);
+            } else if (OutboxMessage.COMMENT_CREATED.equals(message.type())) {
+                Set<Key> keys = keysByTask.remove(message.taskId().toString());
+                if (keys != null) {
+                    keys.forEach(this::evict);
+                }
+            } else if (OutboxMessage.ACTIVITY_REPAIRED.equals(message.type())) {
+                pages.invalidateAll();
+                keysByTask.clear();
+            }
+            appliedVersion.incrementAndGet();
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    // Background refresh; Caffeine drops the entry when this returns null and replaces it otherwise. Neither is
+    // an eviction, so the old page is unindexed here, and only while it is still the cached one: if the key was
+    // evicted or re-cached meanwhile, that path has already kept the index in step and Caffeine discards this result.
+    private TaskPage reload(Key key, TaskPage oldPage) {
+        long loadedAt = generation.get();
+        TaskPage page = load(key);
+        evictionLock.readLock().lock();
+        try {
+            boolean current = generation.get() == loadedAt;
+            pages.asMap().computeIfPresent(key, (k, cached) -> {
+                if (cached == oldPage) {
+                    unindex(k, oldPage);
+                    if (current) {
+                        index(k, page);
+                    }
+                }
+                return cached;
+            });
+            return current ? page : null;
+        } finally {
+            evictionLock.readLock().unlock();
+        }
+    }
+
+    // Same as the background refresh, for tests
+    void refresh(TaskQuery query, TaskCursor after, int limit) {
+        pages.refresh(new Key(query, after, limit, TaskListResponse.FIELDS)).join();
+    }
+
+    Set<String> indexedTaskIds() {
+        return Set.copyOf(keysByTask.keySet());
+    }
+
+    private void evict(Key key) {
+        TaskPage page = pages.asMap().remove(key);
+        if (page != null) {
+            unindex(key, page);
+        }
+    }
+
+    private void index(Key key, TaskPage page) {
+        page.tasks().forEach(task -> keysByTask.compute(task.id(), (id, keys) -> {
+            Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        }));
+    }
+
+    private void unindex(Key key, TaskPage page) {
+        page.tasks().forEach(task -> keysByTask.computeIfPresent(task.id(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        }));
+    }
+
+    // Pages are shared between users, so within the replica lag window after an eviction they are loaded from
+    // the primary: a lagging replica would otherwise pin a stale page in the cache, even for the user who made
+    // the change. Otherwise misses and refreshes read a replica.
+    private TaskPage load(Key key) {
+        Supplier<List<TaskListRow>> read =
+                () -> taskRepository.findPage(key.query(), key.after(), key.limit() + 1, key.fields());
+        List<TaskListRow> rows = System.nanoTime() - lastEvictedAt < replicaLagNanos
+                ? ReplicaRoutingDataSource.onPrimary(read)
+                : read.get();
+
+        boolean hasNext = rows.size() > key.limit();
+        List<TaskListRow> pageRows = hasNext ? rows.subList(0, key.limit()) : rows;
+        String next = hasNext ? TaskCursor.after(pageRows.get(key.limit() - 1)).encode() : null;
+        return new TaskPage(pageRows.stream().map(taskMapper::toListResponse).toList(), next);
+    }
+
+    private record Key(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields) {
+
+        boolean matches(TaskChangedEvent event) {
+            return query.concerns(event.author(), event.previousAssignee(), event.assignee());
+        }
+    }
+}
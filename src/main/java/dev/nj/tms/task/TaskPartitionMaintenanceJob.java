@@ -0,0 +1,59 @@
+package dev.nj.tms.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+// Keeps monthly task partitions created ahead of time, so inserts never fall into the default partition.
+// Creating a partition briefly locks the task table, which is why it happens off-peak and ahead of need.
+@Component
+public class TaskPartitionMaintenanceJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPartitionMaintenanceJob.class);
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    @Autowired
+    public TaskPartitionMaintenanceJob(TaskRepository taskRepository,
+                                       @Value("${tms.task-partitions.months-ahead:3}") int monthsAhead) {
+        this(taskRepository, Clock.systemDefaultZone(), monthsAhead);
+    }
+
+    TaskPartitionMaintenanceJob(TaskRepository taskRepository, Clock clock, int monthsAhead) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${tms.task-partitions.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        logger.info("Running task partition maintenance job");
+        LocalDate month = LocalDate.now(clock).withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate partitionMonth = month.plusMonths(i);
+            // One failed month must not stop the rest, nor the startup this also runs on; the next run retries it
+            try {
+                if (taskRepository.createPartition(partitionMonth)) {
+                    logger.debug("Created task partition for {}", partitionMonth);
+                    created++;
+                }
+            } catch (DataAccessException e) {
+                logger.error("Failed to create task partition for {}", partitionMonth, e);
+            }
+        }
+        logger.info("Created {} task partitions through {}", created, month.plusMonths(monthsAhead));
+    }
+}
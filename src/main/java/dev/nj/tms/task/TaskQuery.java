@@ -0,0 +1,36 @@
+package dev.nj.tms.task;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record TaskQuery(
+        Set<TaskStatus> statuses,
+        String author,
+        String assignee,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo
+) {
+
+    public static final String UNASSIGNED = "none";
+
+    public static final TaskQuery ALL = new TaskQuery(Set.of(), null, null, null, null);
+
+    public TaskQuery {
+        statuses = statuses != null ? Set.copyOf(statuses) : Set.of();
+    }
+
+    public boolean unassigned() {
+        return UNASSIGNED.equals(assignee);
+    }
+
+    // Whether a change to a task by this author, moving it between these assignees, can affect the results
+    public boolean concerns(String taskAuthor, String previousAssignee, String taskAssignee) {
+        if (author != null && !author.equals(taskAuthor)) {
+            return false;
+        }
+        if (unassigned()) {
+            return previousAssignee == null || taskAssignee == null;
+        }
+        return assignee == null || assignee.equals(previousAssignee) || assignee.equals(taskAssignee);
+    }
+}
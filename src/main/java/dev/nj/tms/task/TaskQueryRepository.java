@@ -0,0 +1,24 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.config.SparseFieldset;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskQueryRepository {
+
+    default List<TaskListRow> findPage(TaskQuery query, TaskCursor after, int limit) {
+        return findPage(query, after, limit, TaskListResponse.FIELDS);
+    }
+
+    // Columns behind fields outside the fieldset come back empty; id and created are always read for the cursor.
+    // Read-only so page cache misses are served by a replica when one is configured.
+    @Transactional(readOnly = true)
+    List<TaskListRow> findPage(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields);
+
+    Stream<TaskListRow> stream(TaskQuery query);
+
+    List<TaskListRow> findRows(Collection<Long> ids);
+}
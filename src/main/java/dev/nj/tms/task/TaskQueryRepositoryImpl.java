@@ -0,0 +1,117 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.config.SparseFieldset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final TaskInbox taskInbox;
+
+    TaskQueryRepositoryImpl(EntityManager entityManager, TaskInbox taskInbox) {
+        this.entityManager = entityManager;
+        this.taskInbox = taskInbox;
+    }
+
+    @Override
+    public List<TaskListRow> findPage(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields) {
+        if (taskInbox.covers(query)) {
+            return taskInbox.findPage(query, after, limit, fields);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> criteria = cb.createQuery(TaskListRow.class);
+        Root<Task> task = criteria.from(Task.class);
+
+        List<Predicate> predicates = filter(cb, task, query);
+        Path<LocalDateTime> created = task.get("created");
+        Path<Long> id = task.get("id");
+        predicates.add(cb.lessThanOrEqualTo(created, after.created()));
+        predicates.add(cb.or(cb.lessThan(created, after.created()), cb.lessThan(id, after.id())));
+
+        return entityManager.createQuery(select(cb, criteria, task, predicates, fields))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskListRow> stream(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> criteria = cb.createQuery(TaskListRow.class);
+        Root<Task> task = criteria.from(Task.class);
+
+        return entityManager.createQuery(select(cb, criteria, task, filter(cb, task, query), TaskListResponse.FIELDS))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<TaskListRow> findRows(Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> criteria = cb.createQuery(TaskListRow.class);
+        Root<Task> task = criteria.from(Task.class);
+
+        return entityManager.createQuery(select(cb, criteria, task, List.of(task.get("id").in(ids)), TaskListResponse.FIELDS))
+                .getResultList();
+    }
+
+    private List<Predicate> filter(CriteriaBuilder cb, Root<Task> task, TaskQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (!query.statuses().isEmpty()) {
+            predicates.add(task.get("status").in(query.statuses()));
+        }
+        if (query.author() != null) {
+            predicates.add(cb.equal(task.get("author"), query.author()));
+        }
+        if (query.unassigned()) {
+            predicates.add(cb.isNull(task.get("assignee")));
+        } else if (query.assignee() != null) {
+            predicates.add(cb.equal(task.get("assignee"), query.assignee()));
+        }
+        Path<LocalDateTime> created = task.get("created");
+        if (query.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(created, query.createdFrom()));
+        }
+        if (query.createdTo() != null) {
+            predicates.add(cb.lessThan(created, query.createdTo()));
+        }
+
+        return predicates;
+    }
+
+    private CriteriaQuery<TaskListRow> select(CriteriaBuilder cb, CriteriaQuery<TaskListRow> criteria,
+                                              Root<Task> task, List<Predicate> predicates, SparseFieldset fields) {
+        return criteria
+                .select(cb.construct(TaskListRow.class,
+                        task.get("id"),
+                        task.get("title"),
+                        optional(cb, task, fields, "description"),
+                        task.get("status"),
+                        optional(cb, task, fields, "author"),
+                        optional(cb, task, fields, "assignee"),
+                        fields.includes("total_comments") ? task.<Integer>get("commentCount") : cb.literal(0),
+                        task.get("created")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(task.get("created")), cb.desc(task.get("id")));
+    }
+
+    private static Expression<String> optional(CriteriaBuilder cb, Root<Task> task, SparseFieldset fields, String field) {
+        return fields.includes(field) ? task.get(field) : cb.nullLiteral(String.class);
+    }
+}
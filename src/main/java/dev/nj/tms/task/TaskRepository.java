@@ -1,17 +1,80 @@
 package dev.nj.tms.task;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends ListCrudRepository<Task, Long>, ListPagingAndSortingRepository<Task, Long> {
-    List<Task> findAllByAuthorIgnoreCase(String author, Sort sort);
+public interface TaskRepository extends ListCrudRepository<Task, Long>, ListPagingAndSortingRepository<Task, Long>,
+        TaskQueryRepository, TaskBatchRepository {
+    @Query("select new dev.nj.tms.task.TaskCommentStamp(t.commentCount, t.lastCommentAt) from Task t where t.id = :taskId")
+    Optional<TaskCommentStamp> findCommentStamp(@Param("taskId") Long taskId);
 
-    List<Task> findAllByAssigneeIgnoreCase(String assignee, Sort sort);
+    @Query(value = """
+            select t.id
+            from task t, websearch_to_tsquery('english', :text) query
+            where t.search_vector @@ query
+            order by ts_rank_cd(t.search_vector, query) desc, t.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Long> searchIds(@Param("text") String text, @Param("limit") int limit);
 
-    List<Task> findAllByAuthorIgnoreCaseAndAssigneeIgnoreCase(String author, String assignee, Sort sort);
+    @Query("select t.version from Task t where t.id = :taskId")
+    Optional<Long> findVersion(@Param("taskId") Long taskId);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select coalesce(max(t.id), 0) from Task t")
+    long maxId();
+
+    @Query("""
+            select new dev.nj.tms.task.TaskListRow(t.id, t.title, t.description, t.status, t.author, t.assignee,
+                                                   t.commentCount, t.created)
+            from Task t
+            where t.id >= :fromId and t.id < :toId
+            """)
+    List<TaskListRow> findRowsInRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // See V11__task_partition_creation_lock.sql; false if the partition already exists
+    @Transactional
+    @Query(value = "select create_task_partition(:month)", nativeQuery = true)
+    boolean createPartition(@Param("month") LocalDate month);
+
+    @Modifying
+    @Query("""
+            update Task t
+            set t.commentCount = t.commentCount + 1,
+                t.lastCommentAt = greatest(coalesce(t.lastCommentAt, :commentedAt), :commentedAt),
+                t.lastCommenter = case when t.lastCommentAt is null or t.lastCommentAt < :commentedAt
+                                       then :commenter else t.lastCommenter end
+            where t.id = :taskId
+            """)
+    int recordComment(@Param("taskId") Long taskId,
+                      @Param("commenter") String commenter,
+                      @Param("commentedAt") LocalDateTime commentedAt);
+
+    // Recomputes the summary from comment for one key range, so the repair job never locks the whole table
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update task t
+            set comment_count = (select count(*) from comment c where c.task_id = t.id),
+                last_comment_at = (select max(c.created) from comment c where c.task_id = t.id),
+                last_commenter = (select max(l.author) from comment l
+                                  where l.task_id = t.id
+                                    and l.created = (select max(m.created) from comment m where m.task_id = t.id))
+            where t.id >= :fromId and t.id < :toId
+            """, nativeQuery = true)
+    int repairActivity(@Param("fromId") long fromId, @Param("toId") long toId);
 }
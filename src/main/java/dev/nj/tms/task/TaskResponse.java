@@ -1,11 +1,15 @@
 package dev.nj.tms.task;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public record TaskResponse(
         String id,
         String title,
         String description,
         String status,
         String author,
-        String assignee
+        String assignee,
+        @JsonIgnore
+        long version
 ) {
 }
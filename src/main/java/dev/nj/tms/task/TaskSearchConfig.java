@@ -0,0 +1,26 @@
+package dev.nj.tms.task;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TaskSearchConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchConfig.class);
+
+    // Postgres keeps task.search_vector current; single-node deployments can opt in to an in-process index instead
+    @Bean
+    TaskSearchIndex taskSearchIndex(TaskRepository taskRepository, MeterRegistry meterRegistry,
+                                    @Value("${tms.task-search.in-memory:false}") boolean inMemory) {
+        if (!inMemory) {
+            logger.info("Using PostgreSQL full-text task search");
+            return new PostgresTaskSearchIndex(taskRepository);
+        }
+        logger.info("Using in-memory task search");
+        return new InMemoryTaskSearchIndex(taskRepository, meterRegistry);
+    }
+}
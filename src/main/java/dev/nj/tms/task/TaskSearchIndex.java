@@ -0,0 +1,9 @@
+package dev.nj.tms.task;
+
+import java.util.List;
+
+interface TaskSearchIndex {
+
+    // Best match first
+    List<TaskListRow> search(String text, int limit);
+}
@@ -1,19 +1,36 @@
 package dev.nj.tms.task;
 
+import dev.nj.tms.config.SparseFieldset;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
+    List<Long> createTasks(List<CreateTaskRequest> tasks, String author);
+
     TaskResponse createTask(String title, String description, String author);
 
-    List<TaskListResponse> getTasks();
+    default TaskPage getTasks(TaskQuery query, TaskCursor after, int limit) {
+        return getTasks(query, after, limit, TaskListResponse.FIELDS);
+    }
+
+    TaskPage getTasks(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields);
+
+    // Validates the request like getTasks, so an invalid one is rejected before a conditional GET can answer 304
+    String getTasksETag(TaskQuery query, int limit);
+
+    List<TaskListResponse> searchTasks(String text, int limit);
+
+    long streamTasks(TaskQuery query, Consumer<TaskListResponse> consumer);
 
-    List<TaskListResponse> getTasksByAuthor(String author);
+    SseEmitter subscribe(TaskQuery query);
 
-    List<TaskListResponse> getTasksByAssignee(String assignee);
+    TaskResponse assignTask(Long taskId, String assigneeEmail, String authorEmail, Long expectedVersion);
 
-    List<TaskListResponse> getTasksByAuthorAndAssignee(String author, String assignee);
+    BulkUpdateResponse assignTasks(List<Long> taskIds, String assigneeEmail, String authorEmail);
 
-    TaskResponse assignTask(Long taskId, String assigneeEmail, String authorEmail);
+    BulkUpdateResponse updateTasksStatus(List<Long> taskIds, TaskStatus status, String userEmail);
 
-    TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String authorEmail);
+    TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String authorEmail, Long expectedVersion);
 }
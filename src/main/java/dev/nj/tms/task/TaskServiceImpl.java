@@ -2,155 +2,305 @@ package dev.nj.tms.task;
 
 import dev.nj.tms.account.AccountNotFoundException;
 import dev.nj.tms.account.AccountRepository;
+import dev.nj.tms.config.SparseFieldset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+    static final int MAX_SEARCH_LIMIT = 100;
+    static final int MAX_BATCH_SIZE = 5000;
 
     private final TaskRepository taskRepository;
     private final AccountRepository accountRepository;
     private final TaskMapper taskMapper;
-
-    public TaskServiceImpl(TaskRepository taskRepository, AccountRepository accountRepository, TaskMapper taskMapper) {
+    private final TaskPageCache taskPageCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskFeed taskFeed;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskServiceImpl(TaskRepository taskRepository, AccountRepository accountRepository, TaskMapper taskMapper,
+                           TaskPageCache taskPageCache, TaskSearchIndex taskSearchIndex, TaskFeed taskFeed,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.accountRepository = accountRepository;
         this.taskMapper = taskMapper;
+        this.taskPageCache = taskPageCache;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskFeed = taskFeed;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<TaskListResponse> getTasks() {
-        logger.debug("Attempting to list tasks");
-        List<TaskListResponse> tasks = taskRepository
-                .findAll(Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
-                .map(taskMapper::toListResponse)
-                .toList();
-        logger.debug("Successfully list tasks: {}", tasks.size());
-        return tasks;
-    }
-
+    // No transaction here: most calls are page cache hits, and a transaction would check out a connection anyway
     @Override
-    public List<TaskListResponse> getTasksByAuthor(String author) {
-        logger.debug("Attempting to list tasks by author: {}", author);
+    public TaskPage getTasks(TaskQuery query, TaskCursor after, int limit, SparseFieldset fields) {
+        logger.debug("Attempting to list tasks matching: {}", query);
+        TaskQuery normalizedQuery = validateQuery(query);
+        validateLimit(limit);
 
-        if (!isValidAuthorFormat(author)) {
-            logger.warn("Invalid author format provided: {}", author);
-            throw new IllegalArgumentException("Author must be in a valid format");
-        }
+        TaskPage page = taskPageCache.get(normalizedQuery, after, limit, fields);
 
-        List<TaskListResponse> tasks = taskRepository
-                .findAllByAuthorIgnoreCase(author, Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
-                .map(taskMapper::toListResponse)
-                .toList();
-
-        logger.debug("Successfully list tasks by author: {}", author);
-        return tasks;
+        logger.debug("Successfully list tasks: {}", page.tasks().size());
+        return page;
     }
 
     @Override
-    public List<TaskListResponse> getTasksByAssignee(String assignee) {
-        logger.debug("Attempting to list tasks by assignee: {}", assignee);
+    public String getTasksETag(TaskQuery query, int limit) {
+        validateQuery(query);
+        validateLimit(limit);
+        return "tasks-" + taskPageCache.version();
+    }
 
-        if(!isValidAuthorFormat(assignee)) {
-            logger.warn("Invalid assignee format provided: {}", assignee);
-            throw new IllegalArgumentException("Assignee must be in a valid format");
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskListResponse> searchTasks(String text, int limit) {
+        logger.debug("Attempting to search tasks for: {}", text);
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            logger.warn("Invalid search limit provided: {}", limit);
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
         }
 
-        List<TaskListResponse> tasks = taskRepository
-                .findAllByAssigneeIgnoreCase(assignee, Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
+        List<TaskListResponse> results = taskSearchIndex.search(text, limit).stream()
                 .map(taskMapper::toListResponse)
                 .toList();
 
-        logger.debug("Successfully list tasks by assignee: {}", assignee);
-        return tasks;
+        logger.debug("Successfully found {} tasks for: {}", results.size(), text);
+        return results;
     }
 
     @Override
-    public List<TaskListResponse> getTasksByAuthorAndAssignee(String author, String assignee) {
-        logger.debug("Attempting to list tasks by author: {} and assignee: {}", author, assignee);
-
-        if (!isValidAuthorFormat(author)) {
-            logger.warn("Invalid author format: {}", author);
-            throw new IllegalArgumentException("Author must be in valid format");
-        }
-
-        if (!isValidAuthorFormat(assignee)) {
-            logger.warn("Invalid assignee format: {}", assignee);
-            throw new IllegalArgumentException("Assignee must be in valid format");
+    @Transactional(readOnly = true)
+    public long streamTasks(TaskQuery query, Consumer<TaskListResponse> consumer) {
+        logger.debug("Attempting to stream tasks matching: {}", query);
+        TaskQuery normalizedQuery = validateQuery(query);
+
+        long count = 0;
+        try (Stream<TaskListRow> rows = taskRepository.stream(normalizedQuery)) {
+            Iterator<TaskListRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(taskMapper.toListResponse(iterator.next()));
+                count++;
+            }
         }
 
-        List<TaskListResponse> tasks = taskRepository
-                .findAllByAuthorIgnoreCaseAndAssigneeIgnoreCase(author, assignee, Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
-                .map(taskMapper::toListResponse)
-                .toList();
+        logger.debug("Successfully streamed {} tasks", count);
+        return count;
+    }
 
-        logger.debug("Successfully list tasks by author: {} and assigne: {}", author, assignee);
-        return tasks;
+    @Override
+    public SseEmitter subscribe(TaskQuery query) {
+        logger.debug("Attempting to subscribe to task changes matching: {}", query);
+        return taskFeed.subscribe(validateQuery(query));
     }
 
     @Override
+    @Transactional
     public TaskResponse createTask(String title, String description, String author) {
         logger.debug("Attempting to create a task by: {}", author);
-        Task task = taskRepository.save(new Task(title, description, author.toLowerCase()));
+        Task task = taskRepository.save(new Task(title, description, normalizeEmail(author)));
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getAuthor(), null, null));
+        eventPublisher.publishEvent(new TaskActivityEvent(TaskActivityEvent.Type.CREATED, toRow(task.getId(), task), null));
         TaskResponse response = taskMapper.toResponse(task);
         logger.debug("Successfully create a task with id {} by: {}", response.id(), author);
         return response;
     }
 
     @Override
-    public TaskResponse assignTask(Long taskId, String assigneeEmail, String authorEmail) {
-        logger.debug("Attempting to assign task {} to {}", taskId, assigneeEmail);
+    @Transactional
+    public List<Long> createTasks(List<CreateTaskRequest> requests, String author) {
+        logger.debug("Attempting to create {} tasks by: {}", requests.size(), author);
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " tasks");
+        }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        String normalizedAuthor = normalizeEmail(author);
+        List<Task> tasks = requests.stream()
+                .map(request -> new Task(request.title(), request.description(), normalizedAuthor))
+                .toList();
+        List<Long> ids = taskRepository.insertAll(tasks);
 
-        if (!task.getAuthor().equals(authorEmail)) {
-            throw new ForbiddenException("Only task author can assign tasks");
+        eventPublisher.publishEvent(new TaskChangedEvent(normalizedAuthor, null, null));
+        for (int i = 0; i < ids.size(); i++) {
+            Task task = tasks.get(i);
+            eventPublisher.publishEvent(new TaskActivityEvent(TaskActivityEvent.Type.CREATED, toRow(ids.get(i), task), null));
         }
 
-        if ("none".equals(assigneeEmail)) {
-            task.setAssignee(null);
-        } else {
-            if (!accountRepository.existsByEmailIgnoreCase(assigneeEmail)) {
+        logger.debug("Successfully created {} tasks by: {}", ids.size(), author);
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse assignTask(Long taskId, String assigneeEmail, String authorEmail, Long expectedVersion) {
+        logger.debug("Attempting to assign task {} to {}", taskId, assigneeEmail);
+
+        String assignee = null;
+        if (!"none".equals(assigneeEmail)) {
+            assignee = normalizeEmail(assigneeEmail);
+            if (!accountRepository.existsByEmail(assignee)) {
                 throw new AccountNotFoundException("Assignee not found with email: " + assigneeEmail);
             }
-            task.setAssignee(assigneeEmail);
         }
 
-        Task savedTask = taskRepository.save(task);
+        UpdatedTask updated = taskRepository.assignAll(List.of(taskId), assignee, normalizeEmail(authorEmail), expectedVersion)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> notUpdated(taskId, expectedVersion, "Only task author can assign tasks"));
+        TaskListRow task = updated.task();
+        eventPublisher.publishEvent(new TaskChangedEvent(task.author(), updated.previousAssignee(), task.assignee()));
+        eventPublisher.publishEvent(new TaskActivityEvent(TaskActivityEvent.Type.ASSIGNED, task, updated.previousAssignee()));
 
         logger.debug("Successfully assigned task {} to {}", taskId, assigneeEmail);
-        return taskMapper.toResponse(savedTask);
+        return taskMapper.toResponse(task, updated.version());
     }
 
     @Override
-    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String authorEmail) {
+    @Transactional
+    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String authorEmail, Long expectedVersion) {
         logger.debug("Attempting to update task {} status to {}", taskId, status);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        UpdatedTask updated = taskRepository.updateStatusAll(List.of(taskId), status, normalizeEmail(authorEmail), expectedVersion)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> notUpdated(taskId, expectedVersion, "Only task author or assignee can update task status"));
+        TaskListRow task = updated.task();
+        eventPublisher.publishEvent(new TaskChangedEvent(task.author(), task.assignee(), task.assignee()));
+        eventPublisher.publishEvent(new TaskActivityEvent(TaskActivityEvent.Type.STATUS, task, task.assignee()));
 
-        boolean isAuthor = task.getAuthor().equals(authorEmail);
-        boolean isAssignee = task.getAssignee() != null && task.getAssignee().equals(authorEmail);
+        logger.debug("Successfully update task {} status to {}", taskId, status);
+        return taskMapper.toResponse(task, updated.version());
+    }
 
-        if (!isAuthor && !isAssignee) {
-            throw new ForbiddenException("Only task author or assignee can update task status");
+    // The conditional UPDATE matched nothing; only now is it worth a lookup to tell 404 from 412 from 403
+    private RuntimeException notUpdated(Long taskId, Long expectedVersion, String forbiddenMessage) {
+        Optional<Long> version = taskRepository.findVersion(taskId);
+        if (version.isEmpty()) {
+            return new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(version.get())) {
+            logger.warn("Task {} is at version {}, expected {}", taskId, version.get(), expectedVersion);
+            return new PreconditionFailedException("Task " + taskId + " has been modified");
+        }
+        return new ForbiddenException(forbiddenMessage);
+    }
+
+    @Override
+    @Transactional
+    public BulkUpdateResponse assignTasks(List<Long> taskIds, String assigneeEmail, String authorEmail) {
+        logger.debug("Attempting to assign {} tasks to {}", taskIds.size(), assigneeEmail);
+        Set<Long> ids = validateBatch(taskIds);
+
+        String assignee = null;
+        if (!"none".equals(assigneeEmail)) {
+            assignee = normalizeEmail(assigneeEmail);
+            if (!accountRepository.existsByEmail(assignee)) {
+                throw new AccountNotFoundException("Assignee not found with email: " + assigneeEmail);
+            }
         }
 
-        task.setStatus(status);
-        Task savedTask = taskRepository.save(task);
+        List<UpdatedTask> updated = taskRepository.assignAll(ids, assignee, normalizeEmail(authorEmail), null);
+        BulkUpdateResponse response = summarize(ids, updated, TaskActivityEvent.Type.ASSIGNED);
 
-        logger.debug("Successfully update task {} status to {}", taskId, status);
-        return taskMapper.toResponse(savedTask);
+        logger.debug("Successfully assigned {} tasks to {}", response.updated().size(), assigneeEmail);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public BulkUpdateResponse updateTasksStatus(List<Long> taskIds, TaskStatus status, String userEmail) {
+        logger.debug("Attempting to update {} tasks status to {}", taskIds.size(), status);
+        Set<Long> ids = validateBatch(taskIds);
+
+        List<UpdatedTask> updated = taskRepository.updateStatusAll(ids, status, normalizeEmail(userEmail), null);
+        BulkUpdateResponse response = summarize(ids, updated, TaskActivityEvent.Type.STATUS);
+
+        logger.debug("Successfully update {} tasks status to {}", response.updated().size(), status);
+        return response;
+    }
+
+    // Ids the UPDATE did not touch are split into missing (no such task) and forbidden (exists, not permitted)
+    private BulkUpdateResponse summarize(Set<Long> ids, List<UpdatedTask> updated, TaskActivityEvent.Type activity) {
+        updated.stream()
+                .map(task -> new TaskChangedEvent(task.task().author(), task.previousAssignee(), task.task().assignee()))
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+        updated.forEach(task -> eventPublisher.publishEvent(
+                new TaskActivityEvent(activity, task.task(), task.previousAssignee())));
+
+        Set<Long> updatedIds = updated.stream().map(task -> task.task().id()).collect(Collectors.toSet());
+        Set<Long> untouched = ids.stream()
+                .filter(id -> !updatedIds.contains(id))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> existing = untouched.isEmpty() ? Set.of() : new HashSet<>(taskRepository.findExistingIds(untouched));
+
+        return new BulkUpdateResponse(
+                ids.stream().filter(updatedIds::contains).map(String::valueOf).toList(),
+                untouched.stream().filter(existing::contains).map(String::valueOf).toList(),
+                untouched.stream().filter(id -> !existing.contains(id)).map(String::valueOf).toList());
+    }
+
+    private Set<Long> validateBatch(List<Long> taskIds) {
+        if (taskIds.isEmpty() || taskIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " tasks");
+        }
+        return new LinkedHashSet<>(taskIds);
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > TaskPage.MAX_LIMIT) {
+            logger.warn("Invalid page limit provided: {}", limit);
+            throw new IllegalArgumentException("Limit must be between 1 and " + TaskPage.MAX_LIMIT);
+        }
+    }
+
+    private static TaskListRow toRow(Long id, Task task) {
+        return new TaskListRow(id, task.getTitle(), task.getDescription(), task.getStatus(), task.getAuthor(),
+                task.getAssignee(), task.getCommentCount(), task.getCreated());
+    }
+
+    private TaskQuery validateQuery(TaskQuery query) {
+        if (query.author() != null && !isValidAuthorFormat(query.author())) {
+            logger.warn("Invalid author format provided: {}", query.author());
+            throw new IllegalArgumentException("Author must be in a valid format");
+        }
+
+        if (query.assignee() != null && !query.unassigned() && !isValidAuthorFormat(query.assignee())) {
+            logger.warn("Invalid assignee format provided: {}", query.assignee());
+            throw new IllegalArgumentException("Assignee must be in a valid format");
+        }
+
+        if (query.createdFrom() != null && query.createdTo() != null
+                && !query.createdFrom().isBefore(query.createdTo())) {
+            logger.warn("Invalid created range provided: {} - {}", query.createdFrom(), query.createdTo());
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+
+        return new TaskQuery(query.statuses(), normalizeEmail(query.author()), normalizeEmail(query.assignee()),
+                query.createdFrom(), query.createdTo());
+    }
+
+    private String normalizeEmail(String email) {
+        return email != null ? email.toLowerCase(Locale.ROOT) : null;
     }
 
     private boolean isValidAuthorFormat(String author) {
@@ -0,0 +1,4 @@
+package dev.nj.tms.task;
+
+public record UpdatedTask(TaskListRow task, String previousAssignee, long version) {
+}
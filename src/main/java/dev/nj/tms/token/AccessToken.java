@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 public class AccessToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_token_seq")
+    @SequenceGenerator(name = "access_token_seq", sequenceName = "access_token_seq", allocationSize = 50)
     Long id;
 
     String token;
@@ -35,6 +35,10 @@ public class AccessTokenFilter extends OncePerRequestFilter {
 
         addRequestMatcher("/api/tasks", HttpMethod.GET);
         addRequestMatcher("/api/tasks", HttpMethod.POST);
+        addRequestMatcher("/api/tasks/search", HttpMethod.GET);
+        addRequestMatcher("/api/tasks/batch", HttpMethod.POST);
+        addRequestMatcher("/api/tasks/batch/assign", HttpMethod.PUT);
+        addRequestMatcher("/api/tasks/batch/status", HttpMethod.PUT);
         addRequestMatcher("/api/tasks/*/assign", HttpMethod.PUT);
         addRequestMatcher("/api/tasks/*/status", HttpMethod.PUT);
         addRequestMatcher("/api/tasks/*/comments", HttpMethod.GET);
@@ -2,12 +2,15 @@ package dev.nj.tms.token;
 
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface AccessTokenRepository extends CrudRepository<AccessToken, Long> {
+    // Read-only so the lookup behind every request is routed to a replica when one is configured
+    @Transactional(readOnly = true)
     Optional<AccessToken> findByToken(String token);
 
     int deleteByExpiresAtBefore(LocalDateTime dateTime);
@@ -7,9 +7,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Service
 public class AccessTokenServiceImpl implements AccessTokenService {
@@ -25,9 +27,10 @@ public class AccessTokenServiceImpl implements AccessTokenService {
     }
 
     @Override
+    @Transactional
     public AccessTokenResponse createToken(String email) {
         logger.debug("Attempting to create token for email: {}", email);
-        Account account = accountRepository.findByEmailIgnoreCase(email)
+        Account account = accountRepository.findByEmail(email.toLowerCase(Locale.ROOT))
                 .orElseThrow(() -> {
                     logger.warn("Account not found for email: {}", email);
                     return new IllegalArgumentException("Invalid credentials");
@@ -0,0 +1,59 @@
+-- One row per task and person: the author (role 0) and the assignee (role 1). "My tasks" listings read a
+-- single range of this table instead of merging an index scan from every monthly task partition.
+-- Kept current by a trigger, so every write path (JPA, JDBC batches, conditional updates) maintains it.
+create table task_inbox
+(
+    email   varchar(255) not null,
+    role    smallint     not null check (role between 0 and 1),
+    created timestamp(6) not null,
+    task_id bigint       not null,
+    status  smallint     not null,
+    primary key (email, role, created, task_id)
+);
+
+-- Trigger maintenance by task
+create index task_inbox_task_id_idx on task_inbox (task_id);
+
+insert into task_inbox (email, role, created, task_id, status)
+select author, 0, created, id, status from task where author is not null
+union all
+select assignee, 1, created, id, status from task where assignee is not null;
+
+create function task_inbox_sync() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'INSERT' then
+        insert into task_inbox (email, role, created, task_id, status)
+        select new.author, 0, new.created, new.id, new.status where new.author is not null
+        union all
+        select new.assignee, 1, new.created, new.id, new.status where new.assignee is not null;
+        return null;
+    end if;
+
+    if tg_op = 'DELETE' then
+        delete from task_inbox where task_id = old.id;
+        return null;
+    end if;
+
+    if new.author is distinct from old.author then
+        delete from task_inbox where task_id = old.id and role = 0;
+        insert into task_inbox (email, role, created, task_id, status)
+        select new.author, 0, new.created, new.id, new.status where new.author is not null;
+    end if;
+    if new.assignee is distinct from old.assignee then
+        delete from task_inbox where task_id = old.id and role = 1;
+        insert into task_inbox (email, role, created, task_id, status)
+        select new.assignee, 1, new.created, new.id, new.status where new.assignee is not null;
+    end if;
+    if new.status is distinct from old.status then
+        update task_inbox set status = new.status where task_id = new.id;
+    end if;
+    return null;
+end
+$$;
+
+create trigger task_inbox_sync
+    after insert or delete or update of author, assignee, status on task
+    for each row
+execute function task_inbox_sync();
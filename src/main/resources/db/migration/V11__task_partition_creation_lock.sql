@@ -0,0 +1,37 @@
+-- create_task_partition, safe to run from several nodes at once and after rows landed in task_default.
+-- It takes a transaction-scoped advisory lock, so the existence check and the create cannot interleave.
+-- Rows already sitting in task_default for the month are moved out first: PostgreSQL refuses to create a
+-- partition while the default partition holds rows that belong to it. Moving them is a delete and re-insert
+-- through task, so the task_inbox trigger keeps the inbox in step.
+create or replace function create_task_partition(for_month date) returns boolean
+    language plpgsql as
+$$
+declare
+    month_start    date := date_trunc('month', for_month);
+    month_end      date := date_trunc('month', for_month) + interval '1 month';
+    partition_name text := 'task_' || to_char(month_start, 'YYYY_MM');
+    columns        text;
+begin
+    perform pg_advisory_xact_lock(hashtext('create_task_partition'));
+    if to_regclass(partition_name) is not null then
+        return false;
+    end if;
+
+    -- Generated columns (search_vector) are recomputed on insert
+    select string_agg(quote_ident(column_name), ', ' order by ordinal_position)
+    into columns
+    from information_schema.columns
+    where table_schema = current_schema()
+      and table_name = 'task'
+      and is_generated = 'NEVER';
+
+    execute format('create temporary table task_stray on commit drop as select %s from task_default '
+                       || 'where created >= %L and created < %L', columns, month_start, month_end);
+    execute format('delete from task_default where created >= %L and created < %L', month_start, month_end);
+    execute format('create table if not exists %I partition of task for values from (%L) to (%L)',
+                   partition_name, month_start, month_end);
+    execute format('insert into task (%s) select %s from task_stray', columns, columns);
+    drop table task_stray;
+    return true;
+end
+$$;
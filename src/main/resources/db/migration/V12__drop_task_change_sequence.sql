@@ -0,0 +1,3 @@
+-- The task list ETag is now a per-node version kept by TaskPageCache: a shared sequence could move ahead of
+-- the pages a node still held for changes made elsewhere
+drop sequence task_change_seq;
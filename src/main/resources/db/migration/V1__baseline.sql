@@ -0,0 +1,53 @@
+create table account
+(
+    id       bigint generated by default as identity primary key,
+    email    varchar(255),
+    password varchar(255)
+);
+
+create table access_token
+(
+    id         bigint generated by default as identity primary key,
+    token      varchar(255),
+    account_id bigint not null references account (id),
+    expires_at timestamp(6)
+);
+
+create table task
+(
+    id              bigint generated by default as identity primary key,
+    title           varchar(255),
+    description     varchar(255),
+    status          smallint check (status between 0 and 2),
+    author          varchar(255),
+    assignee        varchar(255),
+    created         timestamp(6),
+    comment_count   integer not null default 0,
+    last_comment_at timestamp(6),
+    last_commenter  varchar(255)
+);
+
+create table comment
+(
+    id      bigint generated by default as identity primary key,
+    task_id bigint,
+    text    varchar(255) not null,
+    author  varchar(255) not null,
+    created timestamp(6)
+);
+
+-- AccountRepository.existsByEmailIgnoreCase / findByEmailIgnoreCase
+create unique index account_email_ci_idx on account (upper(email));
+
+-- AccessTokenRepository.findByToken / deleteByExpiresAtBefore
+create unique index access_token_token_idx on access_token (token);
+create index access_token_expires_at_idx on access_token (expires_at);
+create index access_token_account_id_idx on access_token (account_id);
+
+-- TaskRepository keyset pages and streams, newest first, optionally filtered by author / assignee
+create index task_created_id_idx on task (created desc, id desc);
+create index task_author_ci_created_id_idx on task (upper(author), created desc, id desc);
+create index task_assignee_ci_created_id_idx on task (upper(assignee), created desc, id desc);
+
+-- CommentRepository.findAllByTaskId (created desc) / countByTaskId / summarizeByTaskAfter
+create index comment_task_id_created_idx on comment (task_id, created desc);
@@ -0,0 +1,15 @@
+-- Emails are stored lowercase from now on; bring existing rows in line
+update account set email = lower(email) where email <> lower(email);
+update task set author = lower(author) where author <> lower(author);
+update task set assignee = lower(assignee) where assignee <> lower(assignee);
+update task set last_commenter = lower(last_commenter) where last_commenter <> lower(last_commenter);
+update comment set author = lower(author) where author <> lower(author);
+
+-- Lookups are now exact matches, so plain column indexes replace the upper() expression indexes
+drop index account_email_ci_idx;
+create unique index account_email_idx on account (email);
+
+drop index task_author_ci_created_id_idx;
+drop index task_assignee_ci_created_id_idx;
+create index task_author_created_id_idx on task (author, created desc, id desc);
+create index task_assignee_created_id_idx on task (assignee, created desc, id desc);
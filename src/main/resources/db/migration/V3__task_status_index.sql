@@ -0,0 +1,2 @@
+-- TaskQueryRepository status filter (status in (...)), newest first
+create index task_status_created_id_idx on task (status, created desc, id desc);
@@ -0,0 +1,2 @@
+-- Bumped after every committed task or comment change; its value is the task list ETag
+create sequence task_change_seq;
@@ -0,0 +1,8 @@
+-- Full-text search over title (weight A) and description (weight B), kept current by Postgres itself
+alter table task
+    add column search_vector tsvector generated always as (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) stored;
+
+create index task_search_vector_idx on task using gin (search_vector);
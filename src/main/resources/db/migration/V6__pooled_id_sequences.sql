@@ -0,0 +1,20 @@
+-- Hibernate allocates ids in blocks of 50 (pooled-lo: nextval returns the first id of the block),
+-- so inserts can be batched. Column defaults draw from the same sequences, and a default nextval
+-- claims a whole block for one row, so plain SQL inserts can never collide with Hibernate's ids.
+create sequence task_seq increment by 50;
+select setval('task_seq', (select coalesce(max(id), 0) + 1 from task), false);
+alter table task alter column id drop identity if exists;
+alter table task alter column id set default nextval('task_seq');
+alter sequence task_seq owned by task.id;
+
+create sequence comment_seq increment by 50;
+select setval('comment_seq', (select coalesce(max(id), 0) + 1 from comment), false);
+alter table comment alter column id drop identity if exists;
+alter table comment alter column id set default nextval('comment_seq');
+alter sequence comment_seq owned by comment.id;
+
+create sequence access_token_seq increment by 50;
+select setval('access_token_seq', (select coalesce(max(id), 0) + 1 from access_token), false);
+alter table access_token alter column id drop identity if exists;
+alter table access_token alter column id set default nextval('access_token_seq');
+alter sequence access_token_seq owned by access_token.id;
@@ -0,0 +1,2 @@
+-- Optimistic concurrency: bumped by every task update, exposed as the task's ETag
+alter table task add column version bigint not null default 0;
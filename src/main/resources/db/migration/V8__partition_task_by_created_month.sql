@@ -0,0 +1,78 @@
+-- task becomes range-partitioned by created month. Listings order by created desc, so they read the newest
+-- partitions first, and filters on created prune the rest; vacuum and index maintenance work per month.
+-- The primary key has to include the partition key, so it becomes (id, created); ids still come from
+-- task_seq and stay unique on their own.
+alter sequence task_seq owned by none;
+
+create table task_partitioned
+(
+    id              bigint       not null default nextval('task_seq'),
+    title           varchar(255),
+    description     varchar(255),
+    status          smallint check (status between 0 and 2),
+    author          varchar(255),
+    assignee        varchar(255),
+    created         timestamp(6) not null,
+    comment_count   integer      not null default 0,
+    last_comment_at timestamp(6),
+    last_commenter  varchar(255),
+    version         bigint       not null default 0,
+    search_vector   tsvector generated always as (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) stored,
+    primary key (id, created)
+) partition by range (created);
+
+-- Catches rows for months nobody created a partition for; TaskPartitionMaintenanceJob keeps it empty
+create table task_default partition of task_partitioned default;
+
+-- Creates the partition holding the given month, if missing. Called by TaskPartitionMaintenanceJob.
+create function create_task_partition(for_month date) returns boolean
+    language plpgsql as
+$$
+declare
+    month_start    date := date_trunc('month', for_month);
+    partition_name text := 'task_' || to_char(month_start, 'YYYY_MM');
+begin
+    if to_regclass(partition_name) is not null then
+        return false;
+    end if;
+    execute format('create table %I partition of task for values from (%L) to (%L)',
+                   partition_name, month_start, month_start + interval '1 month');
+    return true;
+end
+$$;
+
+alter table task rename to task_unpartitioned;
+alter table task_partitioned rename to task;
+
+do
+$$
+declare
+    next_month date := date_trunc('month', coalesce((select min(created) from task_unpartitioned), localtimestamp));
+begin
+    while next_month <= date_trunc('month', localtimestamp) + interval '3 months' loop
+        perform create_task_partition(next_month);
+        next_month := next_month + interval '1 month';
+    end loop;
+end
+$$;
+
+insert into task (id, title, description, status, author, assignee, created, comment_count,
+                  last_comment_at, last_commenter, version)
+select id, title, description, status, author, assignee, coalesce(created, localtimestamp), comment_count,
+       last_comment_at, last_commenter, version
+from task_unpartitioned;
+
+drop table task_unpartitioned;
+alter sequence task_seq owned by task.id;
+alter table task rename constraint task_partitioned_pkey to task_pkey;
+alter table task rename constraint task_partitioned_status_check to task_status_check;
+
+-- Same indexes as before, now created on every partition
+create index task_created_id_idx on task (created desc, id desc);
+create index task_author_created_id_idx on task (author, created desc, id desc);
+create index task_assignee_created_id_idx on task (assignee, created desc, id desc);
+create index task_status_created_id_idx on task (status, created desc, id desc);
+create index task_search_vector_idx on task using gin (search_vector);
@@ -0,0 +1,15 @@
+-- Task and comment events, written in the same transaction as the change and drained by OutboxRelay.
+-- Ids come from a plain (uncached) sequence at insert time, so for one task they follow commit order.
+create sequence outbox_event_seq;
+
+create table outbox_event
+(
+    id         bigint       not null default nextval('outbox_event_seq') primary key,
+    task_id    bigint       not null,
+    event_type varchar(64)  not null,
+    payload    text         not null,
+    created    timestamp(6) not null
+);
+
+-- OutboxRepository.lockNext: oldest pending event per task
+create index outbox_event_task_id_id_idx on outbox_event (task_id, id);
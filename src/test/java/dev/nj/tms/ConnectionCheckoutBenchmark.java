@@ -0,0 +1,116 @@
+package dev.nj.tms;
+
+import dev.nj.tms.comment.CreateCommentRequest;
+import dev.nj.tms.task.CreateTaskRequest;
+import dev.nj.tms.task.UpdateTaskStatusRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static dev.nj.tms.TestUtils.asJsonString;
+import static dev.nj.tms.TestUtils.createToken;
+import static dev.nj.tms.TestUtils.objectMapper;
+import static dev.nj.tms.TestUtils.register;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counts Hikari connection checkouts (hikaricp.connections.usage) per request, authentication included.
+// Every repository call outside a service transaction is a checkout of its own.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureMockMvc
+@Testcontainers
+public class ConnectionCheckoutBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionCheckoutBenchmark.class);
+
+    private static final int REQUESTS = 50;
+    private static final String EMAIL = "bench@mail.com";
+    private static final String PASSWORD = "password";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void countCheckoutsPerRequest() throws Exception {
+        register(EMAIL, PASSWORD, mockMvc);
+        String bearer = "Bearer " + createToken(EMAIL, PASSWORD, mockMvc);
+        String taskId = objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new CreateTaskRequest("Task", "Description"))))
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        measure("POST /api/accounts", i -> post("/api/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"bench" + i + "@mail.com\", \"password\": \"password\"}"));
+        measure("POST /api/auth/token", i -> post("/api/auth/token").with(httpBasic(EMAIL, PASSWORD)));
+        measure("POST /api/tasks", i -> post("/api/tasks")
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new CreateTaskRequest("Task " + i, "Description"))));
+        measure("GET /api/tasks", i -> get("/api/tasks").header("Authorization", bearer));
+        measure("PUT /api/tasks/{id}/status", i -> put("/api/tasks/{id}/status", taskId)
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new UpdateTaskStatusRequest(i % 2 == 0 ? "IN_PROGRESS" : "CREATED"))));
+        measure("POST /api/tasks/{id}/comments", i -> post("/api/tasks/{id}/comments", taskId)
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new CreateCommentRequest("Comment " + i))));
+        measure("GET /api/tasks/{id}/comments", i -> get("/api/tasks/{id}/comments", taskId)
+                .header("Authorization", bearer));
+    }
+
+    private void measure(String name, RequestFactory request) throws Exception {
+        long before = checkouts();
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(request.create(i)).andExpect(status().is2xxSuccessful());
+        }
+        long total = checkouts() - before;
+        logger.info("{}: {} connection checkouts per request", name, String.format("%.2f", (double) total / REQUESTS));
+    }
+
+    private long checkouts() {
+        return meterRegistry.get("hikaricp.connections.usage").timer().count();
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        RequestBuilder create(int i) throws Exception;
+    }
+}
@@ -0,0 +1,119 @@
+package dev.nj.tms;
+
+import dev.nj.tms.account.Account;
+import dev.nj.tms.account.AccountRepository;
+import dev.nj.tms.comment.Comment;
+import dev.nj.tms.comment.CommentRepository;
+import dev.nj.tms.task.Task;
+import dev.nj.tms.task.TaskRepository;
+import dev.nj.tms.token.AccessToken;
+import dev.nj.tms.token.AccessTokenRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// "row at a time" flushes after every save, which is what IDENTITY ids forced on every insert;
+// "batched" is the sequence-backed path: one flush, JDBC batches of 50, rewritten into multi-row inserts
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class EntityInsertBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityInsertBenchmark.class);
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private AccessTokenRepository accessTokenRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void compareRowAtATimeAndBatchedInserts() {
+        Account account = accountRepository.save(new Account("bench@mail.com", "password"));
+
+        measure("task", taskRepository, i -> new Task("Task " + i, "Description " + i, "bench@mail.com"));
+        measure("comment", commentRepository, i -> new Comment(1L, "Comment " + i, "bench@mail.com"));
+        measure("access token", accessTokenRepository,
+                i -> new AccessToken(UUID.randomUUID().toString(), account, LocalDateTime.now().plusHours(1)));
+    }
+
+    private <T> void measure(String name, CrudRepository<T, Long> repository, IntFunction<T> factory) {
+        double rowAtATime = rowsPerSecond(() -> transactionTemplate.executeWithoutResult(status ->
+                IntStream.range(0, ROWS).forEach(i -> {
+                    repository.save(factory.apply(i));
+                    entityManager.flush();
+                    entityManager.clear();
+                })));
+        double batched = rowsPerSecond(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<T> rows = IntStream.range(0, ROWS).mapToObj(factory).toList();
+            repository.saveAll(rows);
+            entityManager.flush();
+            entityManager.clear();
+        }));
+
+        logger.info("{} inserts, {} rows: row at a time {} rows/s, batched {} rows/s ({}x)", name, ROWS,
+                Math.round(rowAtATime), Math.round(batched), Math.round(batched / rowAtATime));
+    }
+
+    private double rowsPerSecond(Runnable insert) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insert.run();
+        }
+
+        long totalNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            insert.run();
+            totalNanos += System.nanoTime() - start;
+        }
+        return ROWS * MEASURED_ROUNDS / (totalNanos / 1_000_000_000.0);
+    }
+}
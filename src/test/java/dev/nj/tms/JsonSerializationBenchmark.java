@@ -0,0 +1,72 @@
+package dev.nj.tms;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev.nj.tms.task.TaskListResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// Serializes a task list page with plain Jackson and with Blackbird, and reports ns per task and the
+// bytes on the wire with and without gzip
+@Tag("benchmark")
+public class JsonSerializationBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonSerializationBenchmark.class);
+
+    private static final int TASKS = 1_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+
+    @Test
+    void serializeTaskList() throws IOException {
+        List<TaskListResponse> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new TaskListResponse(String.valueOf(1_000_000 + i), "Task " + i, "Description of task " + i,
+                    i % 3 == 0 ? "COMPLETED" : "IN_PROGRESS", "author" + (i % 10) + "@mail.com",
+                    i % 4 == 0 ? "none" : "assignee" + (i % 20) + "@mail.com", i % 7));
+        }
+
+        ObjectWriter reflective = new ObjectMapper().writerFor(TaskListResponse[].class);
+        ObjectWriter blackbird = new ObjectMapper().registerModule(new BlackbirdModule()).writerFor(TaskListResponse[].class);
+        TaskListResponse[] page = tasks.toArray(TaskListResponse[]::new);
+
+        byte[] json = reflective.writeValueAsBytes(page);
+        assertArrayEquals(json, blackbird.writeValueAsBytes(page));
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(json);
+        }
+        logger.info("{} tasks: {} bytes, {} bytes gzipped ({} / {} bytes per task)", TASKS, json.length,
+                gzipped.size(), json.length / TASKS, gzipped.size() / TASKS);
+
+        measure("reflection", reflective, page);
+        measure("blackbird", blackbird, page);
+    }
+
+    private void measure(String name, ObjectWriter writer, TaskListResponse[] page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            out.reset();
+            writer.writeValue(out, page);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            out.reset();
+            writer.writeValue(out, page);
+        }
+        long elapsed = System.nanoTime() - start;
+        logger.info("{}: {} ns per task", name, elapsed / ((long) MEASURED_ROUNDS * page.length));
+    }
+}
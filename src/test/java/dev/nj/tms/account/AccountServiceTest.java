@@ -13,7 +13,7 @@ public class AccountServiceTest {
         AccountRepository accountRepository = mock(AccountRepository.class);
         AccountMapper accountMapper = mock(AccountMapper.class);
 
-        when(accountRepository.existsByEmailIgnoreCase(any())).thenReturn(false);
+        when(accountRepository.existsByEmail(any())).thenReturn(false);
 
         Account mockAccount = new Account("user@example.com", "secure123");
         when(accountMapper.toEntity(any(), any())).thenReturn(mockAccount);
@@ -39,7 +39,7 @@ public class AccountServiceTest {
         AccountRepository accountRepository = mock(AccountRepository.class);
         AccountMapper accountMapper = mock(AccountMapper.class);
 
-        when(accountRepository.existsByEmailIgnoreCase(any())).thenReturn(true);
+        when(accountRepository.existsByEmail(any())).thenReturn(true);
 
         AccountService accountService = new AccountServiceImpl(accountRepository, accountMapper);
 
@@ -52,7 +52,23 @@ public class AccountServiceTest {
         assertTrue(ex.getMessage().toLowerCase().contains("email"));
 
         verify(accountRepository, never()).save(any(Account.class));
-        verify(accountRepository).existsByEmailIgnoreCase(email);
+        verify(accountRepository).existsByEmail("user@example.com");
+    }
+
+    @Test
+    void shouldStoreEmailInLowercase() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        AccountMapper accountMapper = mock(AccountMapper.class);
+
+        when(accountRepository.existsByEmail(any())).thenReturn(false);
+        when(accountMapper.toEntity(any(), any())).thenReturn(new Account("user@example.com", "secure123"));
+
+        AccountService accountService = new AccountServiceImpl(accountRepository, accountMapper);
+
+        accountService.register("User@Example.com", "secure123");
+
+        verify(accountRepository).existsByEmail("user@example.com");
+        verify(accountMapper).toEntity("user@example.com", "secure123");
     }
 
     @Test
@@ -188,7 +204,7 @@ public class AccountServiceTest {
         AccountRepository accountRepository = mock(AccountRepository.class);
         AccountMapper accountMapper = mock(AccountMapper.class);
 
-        when(accountRepository.existsByEmailIgnoreCase(any())).thenReturn(false);
+        when(accountRepository.existsByEmail(any())).thenReturn(false);
 
         Account mockAccount = new Account("user@example.com", "123456");
         when(accountMapper.toEntity(any(), any())).thenReturn(mockAccount);
@@ -3,6 +3,7 @@ package dev.nj.tms.comment;
 import dev.nj.tms.account.AccountRepository;
 import dev.nj.tms.account.CustomUserDetailsService;
 import dev.nj.tms.config.TestSecurityConfig;
+import dev.nj.tms.config.WebConfig;
 import dev.nj.tms.task.TaskNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,15 +19,17 @@ import java.util.List;
 import static dev.nj.tms.TestUtils.asJsonString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CommentController.class)
-@Import({TestSecurityConfig.class, CustomUserDetailsService.class})
+@Import({TestSecurityConfig.class, CustomUserDetailsService.class, WebConfig.class})
 public class CommentControllerTest {
 
     @Autowired
@@ -124,4 +127,63 @@ public class CommentControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(result -> assertInstanceOf(TaskNotFoundException.class, result.getResolvedException()));
     }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getComments_matchingIfNoneMatch_returns304WithoutLoadingComments() throws Exception {
+        Long taskId = 1L;
+        when(commentService.getCommentsETag(taskId)).thenReturn("comments-2-1700000000000000");
+
+        mockMvc.perform(get("/api/tasks/{taskId}/comments", taskId)
+                        .header("If-None-Match", "\"comments-2-1700000000000000\""))
+                .andExpect(status().isNotModified());
+
+        verify(commentService, never()).getCommentsByTaskId(taskId);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getComments_returnsETag() throws Exception {
+        Long taskId = 1L;
+        when(commentService.getCommentsETag(taskId)).thenReturn("comments-0-0");
+        when(commentService.getCommentsByTaskId(taskId)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/tasks/{taskId}/comments", taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"comments-0-0\""));
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getComments_withFields_returnsOnlyThoseFields() throws Exception {
+        Long taskId = 1L;
+        when(commentService.getCommentsByTaskId(taskId))
+                .thenReturn(List.of(new CommentResponse("1", "1", "First comment", "user1@mail.com")));
+
+        mockMvc.perform(get("/api/tasks/{taskId}/comments", taskId)
+                        .param("fields", "id,author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].author").value("user1@mail.com"))
+                .andExpect(jsonPath("$[0].text").doesNotExist())
+                .andExpect(jsonPath("$[0].task_id").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getComments_unknownField_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks/{taskId}/comments", 1L)
+                        .param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+
+        verify(commentService, never()).getCommentsByTaskId(1L);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getComments_acceptNdjson_returns406() throws Exception {
+        mockMvc.perform(get("/api/tasks/{taskId}/comments", 1L)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotAcceptable());
+    }
 }
@@ -1,6 +1,7 @@
 package dev.nj.tms.comment;
 
 import dev.nj.tms.task.Task;
+import dev.nj.tms.task.TaskActivityRepairJob;
 import dev.nj.tms.task.TaskNotFoundException;
 import dev.nj.tms.task.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +11,12 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +52,12 @@ public class CommentServiceIT {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskActivityRepairJob repairJob;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setup() {
         commentRepository.deleteAll();
@@ -72,6 +81,42 @@ public class CommentServiceIT {
         Comment savedComment = commentRepository.findById(Long.parseLong(response.id())).orElseThrow();
         assertEquals(text, savedComment.getText());
         assertEquals(TEST_COMMENTER, savedComment.getAuthor());
+
+        Task task = taskRepository.findById(testTask.getId()).orElseThrow();
+        assertEquals(1, task.getCommentCount());
+        assertEquals(TEST_COMMENTER, task.getLastCommenter());
+        assertNotNull(task.getLastCommentAt());
+    }
+
+    @Test
+    void it_recordComment_olderComment_keepsLatestCommenter() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.recordComment(testTask.getId(), "late@mail.com", now);
+            taskRepository.recordComment(testTask.getId(), "early@mail.com", now.minusMinutes(1));
+        });
+
+        Task task = taskRepository.findById(testTask.getId()).orElseThrow();
+        assertEquals(2, task.getCommentCount());
+        assertEquals("late@mail.com", task.getLastCommenter());
+        assertEquals(now, task.getLastCommentAt());
+    }
+
+    @Test
+    void it_rebuildActivity_recomputesDriftedSummary() {
+        commentService.createComment(testTask.getId(), "First", "user1@mail.com");
+        commentService.createComment(testTask.getId(), "Second", "user2@mail.com");
+        Task untouched = taskRepository.save(new Task("No comments", "Description", TEST_AUTHOR));
+        transactionTemplate.executeWithoutResult(status ->
+                taskRepository.recordComment(testTask.getId(), "ghost@mail.com", LocalDateTime.now().plusDays(1)));
+
+        repairJob.rebuildActivity();
+
+        Task task = taskRepository.findById(testTask.getId()).orElseThrow();
+        assertEquals(2, task.getCommentCount());
+        assertEquals("user2@mail.com", task.getLastCommenter());
+        assertEquals(0, taskRepository.findById(untouched.getId()).orElseThrow().getCommentCount());
+        assertNull(taskRepository.findById(untouched.getId()).orElseThrow().getLastCommenter());
     }
 
     @Test
@@ -1,6 +1,7 @@
 package dev.nj.tms.comment;
 
-import dev.nj.tms.task.Task;
+import dev.nj.tms.task.TaskCommentStamp;
+import dev.nj.tms.task.TaskCommentedEvent;
 import dev.nj.tms.task.TaskNotFoundException;
 import dev.nj.tms.task.TaskRepository;
 import org.junit.jupiter.api.Test;
@@ -8,8 +9,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +32,9 @@ public class CommentServiceTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -38,11 +44,10 @@ public class CommentServiceTest {
         String text = "Great task!";
         String author = "user1@mail.com";
 
-        Task task = new Task("Task", "Description", "author@mail.com");
         Comment comment = new Comment(taskId, text, author);
         CommentResponse expectedResponse = new CommentResponse("1", "1", text, author);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.recordComment(eq(taskId), eq(author), any(LocalDateTime.class))).thenReturn(1);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
         when(commentMapper.toResponse(comment)).thenReturn(expectedResponse);
 
@@ -50,8 +55,11 @@ public class CommentServiceTest {
 
         assertEquals(text, response.text());
         assertEquals(author, response.author());
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).recordComment(eq(taskId), eq(author), any(LocalDateTime.class));
+        verify(taskRepository, never()).findById(any());
         verify(commentRepository).save(any(Comment.class));
+        verify(eventPublisher).publishEvent(new TaskCommentedEvent(taskId));
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(expectedResponse));
     }
 
     @Test
@@ -60,7 +68,7 @@ public class CommentServiceTest {
         String text = "Comment on missing task";
         String author = "user@mail.com";
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.recordComment(eq(taskId), eq(author), any(LocalDateTime.class))).thenReturn(0);
 
         Exception exception = assertThrows(
                 TaskNotFoundException.class,
@@ -68,21 +76,21 @@ public class CommentServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Task not found with id: 999"));
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).recordComment(eq(taskId), eq(author), any(LocalDateTime.class));
         verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void getCommentByTaskId_returnsCommentsSortedNewest() {
         Long taskId = 1L;
 
-        Task task = new Task("Task", "Description", "author@mail.com");
         Comment comment1 = new Comment(taskId, "First comment", "user1@mail.com");
         Comment comment2 = new Comment(taskId, "Second comment", "user2@mail.com");
 
         List<Comment> comments = List.of(comment2, comment1);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
         when(commentRepository.findAllByTaskId(eq(taskId), any(Sort.class))).thenReturn(comments);
         when(commentMapper.toResponse(comment2)).thenReturn(
                 new CommentResponse("2", "1", "Second comment", "user2@mail.com"));
@@ -94,7 +102,33 @@ public class CommentServiceTest {
         assertEquals(2, result.size());
         assertEquals("Second comment", result.get(0).text());
         assertEquals("First comment", result.get(1).text());
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).existsById(taskId);
         verify(commentRepository).findAllByTaskId(eq(taskId), any(Sort.class));
     }
+
+    @Test
+    void getCommentsETag_changesWithEveryComment() {
+        Long taskId = 1L;
+        LocalDateTime commentedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        when(taskRepository.findCommentStamp(taskId))
+                .thenReturn(Optional.of(new TaskCommentStamp(0, null)))
+                .thenReturn(Optional.of(new TaskCommentStamp(1, commentedAt)));
+
+        String before = commentService.getCommentsETag(taskId);
+        String after = commentService.getCommentsETag(taskId);
+
+        assertEquals("comments-0-0", before);
+        assertNotEquals(before, after);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getCommentsETag_taskNotFound_throwsTaskNotFoundException() {
+        Long taskId = 999L;
+
+        when(taskRepository.findCommentStamp(taskId)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> commentService.getCommentsETag(taskId));
+    }
 }
@@ -0,0 +1,122 @@
+package dev.nj.tms.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The "replica" is a second, unreplicated database with the same schema, so a row seeded only there can only be
+// read through replica routing, and a row seeded only on the primary only through the primary fallback
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingIT {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("tms.datasource.replica-urls", replica::getJdbcUrl);
+        // No stickiness, so the page cache does not pin loads to the primary after startup
+        registry.add("tms.datasource.replica-stickiness", () -> "0s");
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void it_tokenOnlyOnReplica_authenticatesFromReplica() throws Exception {
+        String token = seedToken(jdbc(replica), "replica-only@mail.com");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void it_tokenOnlyOnPrimary_fallsBackToPrimary() throws Exception {
+        String token = seedToken(jdbc(primary), "primary-only@mail.com");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void it_tokenOnNeither_returns401() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + UUID.randomUUID()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void it_listTasks_readsReplica() throws Exception {
+        String token = seedToken(jdbc(replica), "lister@mail.com");
+        jdbc(replica).update("insert into task (title, description, status, author, assignee, created) "
+                + "values ('Replica task', 'Only on the replica', 0, 'lister@mail.com', 'none', ?)", LocalDateTime.now());
+        jdbc(primary).update("insert into task (title, description, status, author, assignee, created) "
+                + "values ('Primary task', 'Only on the primary', 0, 'lister@mail.com', 'none', ?)", LocalDateTime.now());
+
+        mockMvc.perform(get("/api/tasks?author=lister@mail.com")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", hasItem("Replica task")))
+                .andExpect(jsonPath("$[*].title", not(hasItem("Primary task"))));
+    }
+
+    private static String seedToken(JdbcTemplate jdbcTemplate, String email) {
+        Long accountId = jdbcTemplate.queryForObject(
+                "insert into account (email, password) values (?, 'unused') returning id", Long.class, email);
+        String token = UUID.randomUUID().toString();
+        jdbcTemplate.update("insert into access_token (token, account_id, expires_at) values (?, ?, ?)",
+                token, accountId, LocalDateTime.now().plusHours(1));
+        return token;
+    }
+
+    private static JdbcTemplate jdbc(PostgreSQLContainer<?> database) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                database.getJdbcUrl(), database.getUsername(), database.getPassword()));
+    }
+}
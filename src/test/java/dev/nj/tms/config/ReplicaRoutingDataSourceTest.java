@@ -0,0 +1,100 @@
+package dev.nj.tms.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two in-memory H2 databases stand in for the primary and the replica; each knows its own name
+public class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        ReplicaStickiness stickiness = new ReplicaStickiness(Duration.ofMinutes(1));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), stickiness);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(stickiness);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() {
+        login("user1@mail.com");
+
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readWriteTransaction_goesToPrimary() {
+        login("user1@mail.com");
+
+        assertEquals("primary", readWrite.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readAfterWrite_sameUser_staysOnPrimary() {
+        login("user1@mail.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set touched = touched + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        login("user2@mail.com");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void onPrimary_overridesReplicaForReadOnlyTransaction() {
+        login("user1@mail.com");
+
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> whereAmI())));
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void login(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20), touched int)");
+        jdbc.update("delete from node");
+        jdbc.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,209 @@
+package dev.nj.tms.outbox;
+
+import dev.nj.tms.comment.CommentService;
+import dev.nj.tms.task.TaskResponse;
+import dev.nj.tms.task.TaskService;
+import dev.nj.tms.task.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class OutboxRelayIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // The tests drive the relay themselves
+        registry.add("tms.outbox.relay-interval-ms", () -> "3600000");
+    }
+
+    @TestConfiguration
+    static class RecordingConsumerConfig {
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+
+    static class RecordingConsumer {
+
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        final List<OutboxBroadcast> broadcasts = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onMessage(OutboxMessage message) {
+            received.add(message);
+        }
+
+        @EventListener
+        public void onBroadcast(OutboxBroadcast broadcast) {
+            broadcasts.add(broadcast);
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from outbox_event");
+        consumer.received.clear();
+        consumer.broadcasts.clear();
+    }
+
+    @Test
+    void it_serviceChanges_writeOutboxRowsInOrder() {
+        TaskResponse task = taskService.createTask("Task", "Description", "author@mail.com");
+        Long taskId = Long.valueOf(task.id());
+        taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, "author@mail.com", null);
+        commentService.createComment(taskId, "On it", "author@mail.com");
+
+        List<String> types = jdbcTemplate.queryForList(
+                "select event_type from outbox_event where task_id = ? order by id", String.class, taskId);
+        assertEquals(List.of("task.created", "task.status", "comment.created"), types);
+    }
+
+    @Test
+    void it_rolledBackChange_writesNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask("Task", "Description", "author@mail.com");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class));
+    }
+
+    @Test
+    void it_relay_deliversInOrderAndDrains() {
+        TaskResponse task = taskService.createTask("Task", "Description", "author@mail.com");
+        Long taskId = Long.valueOf(task.id());
+        taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, "author@mail.com", null);
+        taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, "author@mail.com", null);
+
+        outboxRelay.relay();
+
+        assertEquals(List.of("task.created", "task.status", "task.status"),
+                consumer.received.stream().map(OutboxMessage::type).toList());
+        assertTrue(consumer.received.get(2).payload().contains("\"status\":\"COMPLETED\""));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class));
+    }
+
+    @Test
+    void it_relay_skipsTasksWhoseEarlierEventIsLockedElsewhere() throws Exception {
+        Long busyTask = Long.valueOf(taskService.createTask("Busy", "Description", "author@mail.com").id());
+        taskService.updateTaskStatus(busyTask, TaskStatus.IN_PROGRESS, "author@mail.com", null);
+        Long otherTask = Long.valueOf(taskService.createTask("Other", "Description", "author@mail.com").id());
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<OutboxMessage>> otherNode = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OutboxMessage> batch = outboxRepository.lockNext(1);
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return batch;
+                }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        outboxRelay.relayBatch();
+        release.countDown();
+
+        assertEquals(busyTask, otherNode.get(10, TimeUnit.SECONDS).get(0).taskId());
+        assertEquals(List.of(otherTask), consumer.received.stream().map(OutboxMessage::taskId).toList());
+    }
+
+    @Test
+    void it_relay_broadcastsCommittedBatchToListeners() throws Exception {
+        Long taskId = Long.valueOf(taskService.createTask("Task", "Description", "author@mail.com").id());
+        commentService.createComment(taskId, "On it", "author@mail.com");
+
+        outboxRelay.relay();
+
+        List<OutboxBroadcast> broadcasts = awaitBroadcasts(taskId, 2);
+        assertEquals(List.of("task.created", OutboxMessage.COMMENT_CREATED),
+                broadcasts.stream().map(broadcast -> broadcast.message().type()).toList());
+        assertEquals("author@mail.com", broadcasts.get(0).task().task().author());
+        assertNull(broadcasts.get(1).task());
+    }
+
+    @Test
+    void it_rolledBackRelay_broadcastsNothing() throws Exception {
+        Long taskId = Long.valueOf(taskService.createTask("Task", "Description", "author@mail.com").id());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRelay.relayBatch();
+            status.setRollbackOnly();
+        });
+
+        Thread.sleep(2 * OutboxBroadcastListener.POLL_MILLIS);
+        assertTrue(consumer.broadcasts.stream().noneMatch(broadcast -> taskId.equals(broadcast.message().taskId())));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class));
+    }
+
+    // Broadcasts arrive on the listener thread once the relay's transaction has committed
+    private List<OutboxBroadcast> awaitBroadcasts(Long taskId, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<OutboxBroadcast> broadcasts;
+        do {
+            Thread.sleep(50);
+            broadcasts = consumer.broadcasts.stream()
+                    .filter(broadcast -> taskId.equals(broadcast.message().taskId()))
+                    .toList();
+        } while (broadcasts.size() < count && System.nanoTime() < deadline);
+        return broadcasts;
+    }
+}
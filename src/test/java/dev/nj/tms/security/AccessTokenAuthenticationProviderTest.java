@@ -62,6 +62,19 @@ public class AccessTokenAuthenticationProviderTest {
                 provider.authenticate(new BearerTokenAuthenticationToken("invalid-token")));
     }
 
+    @Test
+    void authenticate_tokenNotYetOnReplica_retriesAndReturnsAuthentication() {
+        String tokenValue = "fresh-token-123";
+        Account account = new Account("user@mail.com", "secureP1");
+        AccessToken token = new AccessToken(tokenValue, account, LocalDateTime.now().plusHours(1));
+
+        when(tokenRepository.findByToken(tokenValue)).thenReturn(Optional.empty(), Optional.of(token));
+
+        Authentication result = provider.authenticate(new BearerTokenAuthenticationToken(tokenValue));
+
+        assertEquals("user@mail.com", ((UserDetails) result.getPrincipal()).getUsername());
+    }
+
     @Test
     void supports_bearerTokenAuthenticationToken_returnsTrue() {
         assertTrue(provider.supports(BearerTokenAuthenticationToken.class));
@@ -0,0 +1,165 @@
+package dev.nj.tms.task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryTaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private InMemoryTaskSearchIndex index;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new InMemoryTaskSearchIndex(taskRepository, meterRegistry);
+        index.add(row(1L, "Fix login bug", "Users cannot sign in"));
+        index.add(row(2L, "Write docs", "Document the login flow"));
+        index.add(row(3L, "Release", "Tag and publish"));
+    }
+
+    @Test
+    void search_ranksTasksMatchingMoreTermsFirst() {
+        assertEquals(List.of(1L, 2L), ids(index.search("login bug", 10)));
+    }
+
+    @Test
+    void search_isCaseInsensitiveAndIgnoresPunctuation() {
+        assertEquals(List.of(3L), ids(index.search("PUBLISH!", 10)));
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), ids(index.search("login", 10)));
+    }
+
+    @Test
+    void search_rareTermsOutweighCommonOnes() {
+        index.add(row(4L, "Login audit", "Login login"));
+
+        assertEquals(2L, index.search("login document", 10).get(0).id());
+    }
+
+    @Test
+    void search_respectsLimit() {
+        assertEquals(List.of(1L), ids(index.search("login", 1)));
+    }
+
+    @Test
+    void search_returnsIndexedRowsWithoutDatabaseReads() {
+        TaskListRow found = index.search("publish", 10).get(0);
+
+        assertEquals("Release", found.title());
+        assertEquals("author@mail.com", found.author());
+        assertEquals(TaskStatus.CREATED, found.status());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void load_bulkLoadsAllBatchesFromRepository() {
+        InMemoryTaskSearchIndex loaded = new InMemoryTaskSearchIndex(taskRepository, new SimpleMeterRegistry());
+        long lastId = InMemoryTaskSearchIndex.LOAD_BATCH_SIZE + 5;
+        when(taskRepository.maxId()).thenReturn(lastId);
+        when(taskRepository.findRowsInRange(anyLong(), anyLong())).thenAnswer(inv -> {
+            long from = inv.getArgument(0);
+            long to = inv.getArgument(1);
+            return LongStream.of(1L, lastId)
+                    .filter(id -> id >= from && id < to)
+                    .mapToObj(id -> row(id, "Task " + id, "Imported"))
+                    .toList();
+        });
+
+        loaded.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(List.of(lastId, 1L), ids(loaded.search("imported", 10)));
+        verify(taskRepository, times(2)).findRowsInRange(anyLong(), anyLong());
+    }
+
+    @Test
+    void load_taskAlreadyIndexedByEvent_keepsOneDocumentWithTheEventRow() {
+        InMemoryTaskSearchIndex loaded = new InMemoryTaskSearchIndex(taskRepository, new SimpleMeterRegistry());
+        TaskListRow assigned = new TaskListRow(1L, "Task 1", "Imported", TaskStatus.CREATED, "author@mail.com",
+                "dev@mail.com", 0, LocalDateTime.of(2025, 1, 1, 10, 0));
+        loaded.onTaskActivity(new TaskActivityEvent(TaskActivityEvent.Type.ASSIGNED, assigned, null));
+        when(taskRepository.maxId()).thenReturn(1L);
+        when(taskRepository.findRowsInRange(anyLong(), anyLong())).thenReturn(List.of(row(1L, "Task 1", "Imported")));
+
+        loaded.load();
+
+        assertEquals(1, loaded.size());
+        assertEquals(List.of(assigned), loaded.search("imported", 10));
+    }
+
+    @Test
+    void onTaskActivity_replacesRowOfIndexedTask() {
+        TaskListRow completed = new TaskListRow(3L, "Release", "Tag and publish", TaskStatus.COMPLETED,
+                "author@mail.com", "dev@mail.com", 0, LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        index.onTaskActivity(new TaskActivityEvent(TaskActivityEvent.Type.STATUS, completed, "dev@mail.com"));
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(completed), index.search("publish", 10));
+    }
+
+    @Test
+    void onTaskActivity_createdTask_becomesSearchable() {
+        index.onTaskActivity(new TaskActivityEvent(TaskActivityEvent.Type.CREATED, row(4L, "Upgrade database", null), null));
+
+        assertEquals(List.of(4L), ids(index.search("database", 10)));
+        assertTrue(index.search("unknown", 10).isEmpty());
+    }
+
+    @Test
+    void onTaskCommented_countsTheComment() {
+        index.onTaskCommented(new TaskCommentedEvent(3L));
+        index.onTaskCommented(new TaskCommentedEvent(3L));
+
+        assertEquals(2, index.search("publish", 10).get(0).commentCount());
+    }
+
+    @Test
+    void gauges_reportIndexedTasksAndBytesPerTask() {
+        assertEquals(3, meterRegistry.get("tms.task.search.index.tasks").gauge().value());
+        assertTrue(meterRegistry.get("tms.task.search.index.bytes.per.task").gauge().value() > 0);
+    }
+
+    @Test
+    void bytesPerTask_followsReplacedRowsWithoutRescanning() {
+        double before = index.bytesPerTask();
+
+        index.add(new TaskListRow(3L, "Release", "Tag and publish", TaskStatus.CREATED, "author@mail.com",
+                "a-much-longer-assignee-address@mail.com", 0, LocalDateTime.of(2025, 1, 1, 10, 0)));
+
+        assertEquals(before + 2.0 * "a-much-longer-assignee-address@mail.com".length() / 3, index.bytesPerTask(), 0.001);
+    }
+
+    private static List<Long> ids(List<TaskListRow> rows) {
+        return rows.stream().map(TaskListRow::id).toList();
+    }
+
+    private static TaskListRow row(Long id, String title, String description) {
+        return new TaskListRow(id, title, description, TaskStatus.CREATED, "author@mail.com", null, 0,
+                LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+}
@@ -0,0 +1,134 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.outbox.OutboxBroadcaster;
+import dev.nj.tms.outbox.OutboxMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskActivityRepairJobTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskPageCache taskPageCache;
+
+    @Mock
+    private OutboxBroadcaster outboxBroadcaster;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private TaskActivityRepairJob repairJob;
+
+    @BeforeEach
+    void setUp() {
+        repairJob = new TaskActivityRepairJob(taskRepository, jdbcTemplate, taskPageCache, outboxBroadcaster, false);
+    }
+
+    @Test
+    void rebuildActivity_repairsEachKeyRangeSeparately() throws Exception {
+        lockAcquired(true);
+        when(taskRepository.maxId()).thenReturn(1200L);
+
+        repairJob.rebuildActivity();
+
+        var inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).repairActivity(0L, 500L);
+        inOrder.verify(taskRepository).repairActivity(500L, 1000L);
+        inOrder.verify(taskRepository).repairActivity(1000L, 1500L);
+        verify(taskRepository, times(3)).repairActivity(anyLong(), anyLong());
+    }
+
+    @Test
+    void rebuildActivity_noTasks_repairsFirstRangeOnly() throws Exception {
+        lockAcquired(true);
+        when(taskRepository.maxId()).thenReturn(0L);
+
+        repairJob.rebuildActivity();
+
+        verify(taskRepository).repairActivity(0L, 500L);
+        verify(taskRepository, times(1)).repairActivity(anyLong(), anyLong());
+    }
+
+    @Test
+    void rebuildActivity_afterRepair_clearsPagesOnEveryNodeAndUnlocks() throws Exception {
+        lockAcquired(true);
+        when(taskRepository.maxId()).thenReturn(0L);
+
+        repairJob.rebuildActivity();
+
+        var inOrder = inOrder(taskRepository, taskPageCache, outboxBroadcaster, statement);
+        inOrder.verify(statement).executeQuery(argThat(sql -> sql.contains("pg_try_advisory_lock")));
+        inOrder.verify(taskRepository).repairActivity(0L, 500L);
+        inOrder.verify(taskPageCache).clear();
+        inOrder.verify(outboxBroadcaster).onMessage(
+                argThat(message -> OutboxMessage.ACTIVITY_REPAIRED.equals(message.type())));
+        inOrder.verify(statement).executeQuery(argThat(sql -> sql.contains("pg_advisory_unlock")));
+    }
+
+    @Test
+    void rebuildActivity_lockHeldElsewhere_skips() throws Exception {
+        lockAcquired(false);
+
+        repairJob.rebuildActivity();
+
+        verify(taskRepository, never()).repairActivity(anyLong(), anyLong());
+        verifyNoInteractions(taskPageCache, outboxBroadcaster);
+        verify(statement, never()).executeQuery(argThat(sql -> sql.contains("pg_advisory_unlock")));
+    }
+
+    @Test
+    void rebuildActivity_repairFails_stillUnlocks() throws Exception {
+        lockAcquired(true);
+        when(taskRepository.maxId()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> repairJob.rebuildActivity());
+
+        verify(statement).executeQuery(argThat(sql -> sql.contains("pg_advisory_unlock")));
+        verifyNoInteractions(taskPageCache, outboxBroadcaster);
+    }
+
+    @Test
+    void repairOnStartup_disabled_doesNothing() {
+        repairJob.repairOnStartup();
+
+        verifyNoInteractions(jdbcTemplate, taskRepository);
+    }
+
+    // Runs the connection callback against a mocked connection whose advisory lock queries answer acquired
+    private void lockAcquired(boolean acquired) throws Exception {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(acquired);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.nj.tms.task;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Many writers hammer one task with If-Match updates (read version, conditional UPDATE, retry on 412).
+// Every successful write must be reflected in the final version: no lost updates, no row locks held between calls.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class TaskContentionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskContentionBenchmark.class);
+
+    private static final int THREADS = 32;
+    private static final int UPDATES_PER_THREAD = 200;
+    private static final String AUTHOR = "bench@mail.com";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void hammerOneTaskWithConditionalUpdates() throws Exception {
+        Task task = taskRepository.save(new Task("Contended", "Everyone updates me", AUTHOR));
+        long initialVersion = task.getVersion();
+        AtomicLong conflicts = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    TaskStatus status = TaskStatus.values()[(thread + i) % TaskStatus.values().length];
+                    while (true) {
+                        long version = taskRepository.findVersion(task.getId()).orElseThrow();
+                        try {
+                            taskService.updateTaskStatus(task.getId(), status, AUTHOR, version);
+                            break;
+                        } catch (PreconditionFailedException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        long updates = (long) THREADS * UPDATES_PER_THREAD;
+        assertEquals(initialVersion + updates, taskRepository.findVersion(task.getId()).orElseThrow());
+        logger.info("{} threads, {} successful updates in {} ms: {} updates/s, {} conflicts (412) retried",
+                THREADS, updates, elapsedNanos / 1_000_000, Math.round(updates / (elapsedNanos / 1_000_000_000.0)),
+                conflicts.get());
+    }
+}
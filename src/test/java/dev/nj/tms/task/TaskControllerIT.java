@@ -49,6 +49,9 @@ public class TaskControllerIT {
     @Autowired
     TaskRepository taskRepository;
 
+    @Autowired
+    TaskPageCache taskPageCache;
+
     @Autowired
     AccountRepository accountRepository;
 
@@ -538,6 +541,7 @@ public class TaskControllerIT {
         taskRepository.deleteAll();
         tokenRepository.deleteAll();
         accountRepository.deleteAll();
+        taskPageCache.clear();
 
         register("user1@mail.com", "secureP1", mockMvc);
         register("user2@mail.com", "secureP2", mockMvc);
@@ -3,7 +3,9 @@ package dev.nj.tms.task;
 import dev.nj.tms.account.Account;
 import dev.nj.tms.account.AccountRepository;
 import dev.nj.tms.account.CustomUserDetailsService;
+import dev.nj.tms.config.SparseFieldset;
 import dev.nj.tms.config.TestSecurityConfig;
+import dev.nj.tms.config.WebConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -13,23 +15,32 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static dev.nj.tms.TestUtils.asJsonString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
-@Import({TestSecurityConfig.class, CustomUserDetailsService.class})
+@Import({TestSecurityConfig.class, CustomUserDetailsService.class, WebConfig.class})
 public class TaskControllerTest {
 
     @Autowired
@@ -47,6 +58,8 @@ public class TaskControllerTest {
     @Test
     @WithMockUser
     void getTasks_shouldReturn200WithMockUser() throws Exception {
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk());
     }
@@ -57,14 +70,105 @@ public class TaskControllerTest {
         String password = "testpass123";
 
         Account mockAccount = new Account(email, passwordEncoder.encode(password));
-        when(accountRepository.findByEmailIgnoreCase(email))
+        when(accountRepository.findByEmail(email))
                 .thenReturn(Optional.of(mockAccount));
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
 
         mockMvc.perform(get("/api/tasks")
                         .with(httpBasic(email, password)))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser
+    void getTasks_returnsETag() throws Exception {
+        when(taskService.getTasksETag(TaskQuery.ALL, 50)).thenReturn("tasks-7");
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"tasks-7\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getTasks_matchingIfNoneMatch_returns304WithoutLoadingTasks() throws Exception {
+        when(taskService.getTasksETag(TaskQuery.ALL, 50)).thenReturn("tasks-7");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
+
+    @Test
+    @WithMockUser
+    void getTasks_invalidLimitWithMatchingIfNoneMatch_returns400() throws Exception {
+        when(taskService.getTasksETag(TaskQuery.ALL, 0))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 500"));
+
+        mockMvc.perform(get("/api/tasks?limit=0")
+                        .header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
+
+    @Test
+    @WithMockUser
+    void getTasks_staleIfNoneMatch_returns200() throws Exception {
+        when(taskService.getTasksETag(TaskQuery.ALL, 50)).thenReturn("tasks-8");
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"tasks-8\""));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTasks_returnsRankedMatches() throws Exception {
+        when(taskService.searchTasks("login", 20)).thenReturn(List.of(
+                new TaskListResponse("2", "Login page", "D2", "CREATED", "user1@mail.com", "none", 0),
+                new TaskListResponse("1", "Fix login", "D1", "CREATED", "user1@mail.com", "none", 0)
+        ));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "login"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("2"))
+                .andExpect(jsonPath("$[1].id").value("1"));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTasks_blankQuery_returns400() throws Exception {
+        when(taskService.searchTasks(" ", 20)).thenThrow(new IllegalArgumentException("Search query must not be blank"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query must not be blank"));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTasks_missingQuery_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void searchTasks_acceptNdjson_returns406() throws Exception {
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "login")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     void getTasks_shouldReturn401WhenNoAuth() throws Exception {
         mockMvc.perform(get("/api/tasks"))
@@ -90,13 +194,13 @@ public class TaskControllerTest {
                 new TaskListResponse("3", "T3", "D3", "CREATED", "user2@mail.com", "none", 0)
         );
 
-        when(taskService.getTasks()).thenReturn(expectedTasks);
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, null));
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(3));
 
-        verify(taskService).getTasks();
+        verify(taskService).getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
     }
 
     @Test
@@ -107,7 +211,7 @@ public class TaskControllerTest {
                 new TaskListResponse("2", "T2", "D2", "CREATED", "user1@mail.com", "none", 0)
         );
 
-        when(taskService.getTasksByAuthor("user1@mail.com")).thenReturn(expectedTasks);
+        when(taskService.getTasks(new TaskQuery(Set.of(), "user1@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, null));
 
         mockMvc.perform(get("/api/tasks")
                         .param("author", "user1@mail.com"))
@@ -116,7 +220,7 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value("1"))
                 .andExpect(jsonPath("$[1].id").value("2"));
 
-        verify(taskService).getTasksByAuthor("user1@mail.com");
+        verify(taskService).getTasks(new TaskQuery(Set.of(), "user1@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
     }
 
     @Test
@@ -126,31 +230,47 @@ public class TaskControllerTest {
                 new TaskListResponse("1", "T1", "D1", "CREATED", "user2@mail.com", "none", 0)
         );
 
-        when(taskService.getTasksByAuthor("user2@mail.com")).thenReturn(expectedTasks);
+        when(taskService.getTasks(new TaskQuery(Set.of(), "user2@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, null));
 
         mockMvc.perform(get("/api/tasks")
                         .param("author", "user2@mail.com"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
 
-        verify(taskService).getTasksByAuthor("user2@mail.com");
+        verify(taskService).getTasks(new TaskQuery(Set.of(), "user2@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
     }
 
     @Test
     @WithMockUser(username = "user1@mail.com")
     void get_filterUnknown_returnsEmpty() throws Exception {
+        when(taskService.getTasks(new TaskQuery(Set.of(), "unknown@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
         mockMvc.perform(get("/api/tasks")
                         .param("author", "unknown@mail.com"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(taskService).getTasksByAuthor("unknown@mail.com");
+        verify(taskService).getTasks(new TaskQuery(Set.of(), "unknown@mail.com", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void subscribeToTasks_eventStream_startsAsyncFeed() throws Exception {
+        when(taskService.subscribe(new TaskQuery(Set.of(), null, "user1@mail.com", null, null))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("assignee", "user1@mail.com")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
     }
 
     @Test
     @WithMockUser(username = "user1@mail.com")
     void get_invalidAuthor_returns400() throws Exception {
-        when(taskService.getTasksByAuthor("not-an-email"))
+        when(taskService.getTasks(new TaskQuery(Set.of(), "not-an-email", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS))
                 .thenThrow(new IllegalArgumentException("Author must be in valid format"));
 
         mockMvc.perform(get("/api/tasks")
@@ -158,7 +278,7 @@ public class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(result -> assertInstanceOf(IllegalArgumentException.class, result.getResolvedException()));
 
-        verify(taskService).getTasksByAuthor("not-an-email");
+        verify(taskService).getTasks(new TaskQuery(Set.of(), "not-an-email", null, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
     }
 
     @Test
@@ -170,7 +290,7 @@ public class TaskControllerTest {
                 new TaskListResponse("2", "Task 2", "Description 2", "IN_PROGRESS", "user3@mail.com", assigneeEmail, 0)
         );
 
-        when(taskService.getTasksByAssignee(assigneeEmail)).thenReturn(expectedTasks);
+        when(taskService.getTasks(new TaskQuery(Set.of(), null, assigneeEmail, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, null));
 
         mockMvc.perform(get("/api/tasks")
                         .param("assignee", assigneeEmail))
@@ -190,7 +310,7 @@ public class TaskControllerTest {
                 new TaskListResponse("2", "Task 2", "Description 2", "IN_PROGRESS", authorEmail, assigneeEmail, 0)
         );
 
-        when(taskService.getTasksByAuthorAndAssignee(authorEmail, assigneeEmail)).thenReturn(expectedTasks);
+        when(taskService.getTasks(new TaskQuery(Set.of(), authorEmail, assigneeEmail, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, null));
 
         mockMvc.perform(get("/api/tasks")
                 .param("author", authorEmail)
@@ -202,7 +322,86 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[1].author").value(authorEmail))
                 .andExpect(jsonPath("$[1].assignee").value(assigneeEmail));
 
-        verify(taskService).getTasksByAuthorAndAssignee(authorEmail, assigneeEmail);
+        verify(taskService).getTasks(new TaskQuery(Set.of(), authorEmail, assigneeEmail, null, null), TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_withCursorAndLimit_returnsPageAndNextCursorHeader() throws Exception {
+        TaskCursor after = new TaskCursor(LocalDateTime.of(2025, 1, 1, 10, 0), 10L);
+        TaskCursor next = new TaskCursor(LocalDateTime.of(2025, 1, 1, 9, 0), 8L);
+        List<TaskListResponse> expectedTasks = List.of(
+                new TaskListResponse("9", "T9", "D9", "CREATED", "user1@mail.com", "none", 0),
+                new TaskListResponse("8", "T8", "D8", "CREATED", "user1@mail.com", "none", 0)
+        );
+
+        when(taskService.getTasks(TaskQuery.ALL, after, 2, TaskListResponse.FIELDS)).thenReturn(new TaskPage(expectedTasks, next.encode()));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", after.encode())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("X-Next-Cursor", next.encode()));
+
+        verify(taskService).getTasks(TaskQuery.ALL, after, 2, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_withStatusAndCreatedRange_passesCombinedQuery() throws Exception {
+        TaskQuery expectedQuery = new TaskQuery(Set.of(TaskStatus.CREATED, TaskStatus.IN_PROGRESS), null, "none",
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+        when(taskService.getTasks(expectedQuery, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "CREATED", "IN_PROGRESS")
+                        .param("assignee", "none")
+                        .param("createdFrom", "2025-01-01T00:00:00")
+                        .param("createdTo", "2025-02-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(taskService).getTasks(expectedQuery, TaskCursor.FIRST, 50, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_invalidStatusFilter_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "DONE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid status value. Must be one of: CREATED, IN_PROGRESS, COMPLETED"));
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_invalidCreatedFrom_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_lastPage_hasNoNextCursorHeader() throws Exception {
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, TaskListResponse.FIELDS)).thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertInstanceOf(IllegalArgumentException.class, result.getResolvedException()));
     }
 
     @Test
@@ -213,7 +412,7 @@ public class TaskControllerTest {
         String expectedAuthor = "user@example.com";
 
         CreateTaskRequest dto = new CreateTaskRequest(title, description);
-        TaskResponse serviceResponse = new TaskResponse("42", title, description, "CREATED", expectedAuthor, "none");
+        TaskResponse serviceResponse = new TaskResponse("42", title, description, "CREATED", expectedAuthor, "none", 0L);
 
         when(taskService.createTask(eq(title), eq(description), eq(expectedAuthor))).thenReturn(serviceResponse);
 
@@ -254,6 +453,51 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.messages", hasItem("description should not be blank")));
     }
 
+    @Test
+    @WithMockUser(username = "User@Example.com")
+    void createTasks_returnsIdsInRequestOrder() throws Exception {
+        List<CreateTaskRequest> tasks = List.of(
+                new CreateTaskRequest("T1", "D1"),
+                new CreateTaskRequest("T2", "D2")
+        );
+        when(taskService.createTasks(tasks, "user@example.com")).thenReturn(List.of(41L, 42L));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new CreateTasksRequest(tasks))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids.length()").value(2))
+                .andExpect(jsonPath("$.ids[0]").value("41"))
+                .andExpect(jsonPath("$.ids[1]").value("42"));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com")
+    void createTasks_blankTitleInAnyItem_returns400() throws Exception {
+        CreateTasksRequest request = new CreateTasksRequest(List.of(
+                new CreateTaskRequest("T1", "D1"),
+                new CreateTaskRequest(" ", "D2")
+        ));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("title should not be blank")));
+
+        verify(taskService, never()).createTasks(any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com")
+    void createTasks_emptyBatch_returns400() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new CreateTasksRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("tasks should not be empty")));
+    }
+
     @Test
     void createTask_shouldReturn400_whenNoAuth() throws Exception {
         CreateTaskRequest dto = new CreateTaskRequest("My Task", "Do something");
@@ -264,6 +508,58 @@ public class TaskControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(username = "author@mail.com")
+    void assignTasks_returnsUpdatedForbiddenAndMissingIds() throws Exception {
+        when(taskService.assignTasks(List.of(1L, 2L, 3L), "dev@mail.com", "author@mail.com"))
+                .thenReturn(new BulkUpdateResponse(List.of("1"), List.of("2"), List.of("3")));
+
+        mockMvc.perform(put("/api/tasks/batch/assign")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new BulkAssignTasksRequest(List.of(1L, 2L, 3L), "dev@mail.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated[0]").value("1"))
+                .andExpect(jsonPath("$.forbidden[0]").value("2"))
+                .andExpect(jsonPath("$.missing[0]").value("3"));
+    }
+
+    @Test
+    @WithMockUser(username = "author@mail.com")
+    void assignTasks_emptyIds_returns400() throws Exception {
+        mockMvc.perform(put("/api/tasks/batch/assign")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new BulkAssignTasksRequest(List.of(), "dev@mail.com"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("task_ids should not be empty")));
+    }
+
+    @Test
+    @WithMockUser(username = "author@mail.com")
+    void updateTasksStatus_returnsUpdatedIds() throws Exception {
+        when(taskService.updateTasksStatus(List.of(1L, 2L), TaskStatus.COMPLETED, "author@mail.com"))
+                .thenReturn(new BulkUpdateResponse(List.of("1", "2"), List.of(), List.of()));
+
+        mockMvc.perform(put("/api/tasks/batch/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new BulkUpdateTaskStatusRequest(List.of(1L, 2L), "COMPLETED"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(2))
+                .andExpect(jsonPath("$.forbidden").isEmpty())
+                .andExpect(jsonPath("$.missing").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "author@mail.com")
+    void updateTasksStatus_invalidStatus_returns400() throws Exception {
+        mockMvc.perform(put("/api/tasks/batch/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new BulkUpdateTaskStatusRequest(List.of(1L), "DONE"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid status value. Must be one of: CREATED, IN_PROGRESS, COMPLETED"));
+
+        verify(taskService, never()).updateTasksStatus(any(), any(), any());
+    }
+
     @Test
     @WithMockUser(username = "user1@mail.com")
     void assignTask_validRequest_returns200() throws Exception {
@@ -273,10 +569,10 @@ public class TaskControllerTest {
         AssignTaskRequest request = new AssignTaskRequest(assigneeEmail);
 
         TaskResponse response = new TaskResponse(
-                "1", "Test Task", "Description", "CREATED", authorEmail, assigneeEmail
+                "1", "Test Task", "Description", "CREATED", authorEmail, assigneeEmail, 0L
         );
 
-        when(taskService.assignTask(taskId, assigneeEmail, authorEmail)).thenReturn(response);
+        when(taskService.assignTask(taskId, assigneeEmail, authorEmail, null)).thenReturn(response);
 
         mockMvc.perform(put("/api/tasks/{taskId}/assign", taskId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -285,7 +581,7 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value("1"))
                 .andExpect(jsonPath("$.assignee").value(assigneeEmail));
 
-        verify(taskService).assignTask(taskId, assigneeEmail, authorEmail);
+        verify(taskService).assignTask(taskId, assigneeEmail, authorEmail, null);
     }
 
     @Test
@@ -296,7 +592,7 @@ public class TaskControllerTest {
         String authorEmail = "user1@mail.com";
         AssignTaskRequest request = new AssignTaskRequest(assigneeEmail);
 
-        when(taskService.assignTask(taskId, assigneeEmail, authorEmail))
+        when(taskService.assignTask(taskId, assigneeEmail, authorEmail, null))
                 .thenThrow(new TaskNotFoundException("Task not found with id: 999"));
 
         mockMvc.perform(put("/api/tasks/{taskId}/assign", taskId)
@@ -305,7 +601,7 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(result -> assertInstanceOf(TaskNotFoundException.class, result.getResolvedException()));
 
-        verify(taskService).assignTask(taskId, assigneeEmail, authorEmail);
+        verify(taskService).assignTask(taskId, assigneeEmail, authorEmail, null);
     }
 
     @Test
@@ -316,7 +612,7 @@ public class TaskControllerTest {
         String differentUser = "user3@mail.com";
         AssignTaskRequest request = new AssignTaskRequest(assigneeEmail);
 
-        when(taskService.assignTask(taskId, assigneeEmail, differentUser))
+        when(taskService.assignTask(taskId, assigneeEmail, differentUser, null))
                 .thenThrow(new ForbiddenException("Only task author can assign task"));
 
         mockMvc.perform(put("/api/tasks/{taskId}/assign", taskId)
@@ -325,7 +621,7 @@ public class TaskControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(result -> assertInstanceOf(ForbiddenException.class, result.getResolvedException()));
 
-        verify(taskService).assignTask(taskId, assigneeEmail, differentUser);
+        verify(taskService).assignTask(taskId, assigneeEmail, differentUser, null);
     }
 
     @Test
@@ -351,10 +647,10 @@ public class TaskControllerTest {
         UpdateTaskStatusRequest request = new UpdateTaskStatusRequest(status);
 
         TaskResponse response = new TaskResponse(
-                "1", "Test Task", "Description", "IN_PROGRESS", userEmail, "none"
+                "1", "Test Task", "Description", "IN_PROGRESS", userEmail, "none", 0L
         );
 
-        when(taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userEmail)).thenReturn(response);
+        when(taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userEmail, null)).thenReturn(response);
 
         mockMvc.perform(put("/api/tasks/{taskId}/status", taskId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -363,7 +659,55 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value("1"))
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
 
-        verify(taskService).updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userEmail);
+        verify(taskService).updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userEmail, null);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void updateTaskStatus_ifMatch_passesVersionAndReturnsNewETag() throws Exception {
+        Long taskId = 1L;
+        TaskResponse response = new TaskResponse(
+                "1", "Test Task", "Description", "COMPLETED", "user1@mail.com", "none", 4L
+        );
+
+        when(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, "user1@mail.com", 3L)).thenReturn(response);
+
+        mockMvc.perform(put("/api/tasks/{taskId}/status", taskId)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new UpdateTaskStatusRequest("COMPLETED"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void updateTaskStatus_staleIfMatch_returns412() throws Exception {
+        Long taskId = 1L;
+
+        when(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, "user1@mail.com", 3L))
+                .thenThrow(new PreconditionFailedException("Task 1 has been modified"));
+
+        mockMvc.perform(put("/api/tasks/{taskId}/status", taskId)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new UpdateTaskStatusRequest("COMPLETED"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Task 1 has been modified"));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void assignTask_malformedIfMatch_returns400() throws Exception {
+        mockMvc.perform(put("/api/tasks/{taskId}/assign", 1L)
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new AssignTaskRequest("user2@mail.com"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("If-Match must be a task ETag"));
+
+        verify(taskService, never()).assignTask(any(), any(), any(), any());
     }
 
     @Test
@@ -392,4 +736,33 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.messages").isArray())
                 .andExpect(jsonPath("$.messages", hasItem("status is required")));
     }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_withFields_narrowsQueryAndBody() throws Exception {
+        SparseFieldset fields = TaskListResponse.FIELDS.select(List.of("id", "title", "status"));
+        when(taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50, fields)).thenReturn(new TaskPage(List.of(
+                new TaskListResponse("1", "T1", "D1", "CREATED", "user1@mail.com", "none", 0)), null));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("fields", "id,title,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].title").value("T1"))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].assignee").doesNotExist())
+                .andExpect(jsonPath("$[0].total_comments").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void get_unknownField_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTasks(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
 }
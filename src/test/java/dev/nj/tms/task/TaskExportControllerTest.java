@@ -0,0 +1,104 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.account.AccountRepository;
+import dev.nj.tms.account.CustomUserDetailsService;
+import dev.nj.tms.config.TestSecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskExportController.class)
+@Import({TestSecurityConfig.class, CustomUserDetailsService.class})
+public class TaskExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @MockitoBean
+    private AccountRepository accountRepository;
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void streamTasks_writesOneJsonLinePerTask() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskListResponse> consumer = invocation.getArgument(1);
+            consumer.accept(new TaskListResponse("2", "Task 2", "Desc 2", "CREATED", "user1@mail.com", "none", 0));
+            consumer.accept(new TaskListResponse("1", "Task 1", "Desc 1", "CREATED", "user1@mail.com", "none", 3));
+            return 2L;
+        }).when(taskService).streamTasks(eq(new TaskQuery(Set.of(), "user1@mail.com", null, null, null)), any());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .param("author", "user1@mail.com")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"2\""));
+        assertTrue(lines[1].contains("\"total_comments\":3"));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void streamTasks_invalidAuthor_returns400AsNdjson() throws Exception {
+        when(taskService.streamTasks(eq(new TaskQuery(Set.of(), "not-an-email", null, null, null)), any()))
+                .thenThrow(new IllegalArgumentException("Author must be in a valid format"));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("author", "not-an-email")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.message").value("Author must be in a valid format"));
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void streamTasks_invalidStatus_returns400AsNdjson() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "DONE")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void streamTasks_malformedCreatedFrom_returns400AsNdjson() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("createdFrom", "yesterday")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter: createdFrom"));
+
+        verifyNoInteractions(taskService);
+    }
+}
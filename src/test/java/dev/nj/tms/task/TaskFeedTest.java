@@ -0,0 +1,200 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.outbox.OutboxBroadcast;
+import dev.nj.tms.outbox.OutboxMessage;
+import dev.nj.tms.outbox.TaskPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskFeedTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskFeed taskFeed;
+
+    @BeforeEach
+    void setUp() {
+        taskFeed = new TaskFeed(taskRepository, new TaskMapper(), Duration.ofMinutes(1), 2, 4, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskFeed.close();
+    }
+
+    @Test
+    void onOutboxBroadcast_taskChange_sendsOnlyToMatchingSubscribers() throws IOException {
+        SseEmitter authorFeed = mock(SseEmitter.class);
+        SseEmitter otherFeed = mock(SseEmitter.class);
+        taskFeed.subscribe(query("author@mail.com", null), authorFeed);
+        taskFeed.subscribe(query("other@mail.com", null), otherFeed);
+
+        taskFeed.onOutboxBroadcast(taskBroadcast("task.created", row(1L, "author@mail.com", null), null));
+
+        verify(authorFeed, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(otherFeed, after(100).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void onOutboxBroadcast_unassignedFromSubscriber_stillNotifiesPreviousAssignee() throws IOException {
+        SseEmitter assigneeFeed = mock(SseEmitter.class);
+        taskFeed.subscribe(query(null, "dev@mail.com"), assigneeFeed);
+
+        taskFeed.onOutboxBroadcast(taskBroadcast("task.assigned", row(1L, "author@mail.com", null), "dev@mail.com"));
+
+        verify(assigneeFeed, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void onOutboxBroadcast_comment_loadsTaskOnceForAllSubscribers() throws IOException {
+        SseEmitter first = mock(SseEmitter.class);
+        SseEmitter second = mock(SseEmitter.class);
+        taskFeed.subscribe(TaskQuery.ALL, first);
+        taskFeed.subscribe(TaskQuery.ALL, second);
+        when(taskRepository.findRows(List.of(1L))).thenReturn(List.of(row(1L, "author@mail.com", "dev@mail.com")));
+
+        taskFeed.onOutboxBroadcast(commentBroadcast(1L));
+
+        verify(first, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(second, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(taskRepository, times(1)).findRows(List.of(1L));
+    }
+
+    @Test
+    void onOutboxBroadcast_noSubscribers_skipsLookup() {
+        taskFeed.onOutboxBroadcast(commentBroadcast(1L));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void send_clientGone_dropsSubscriber() throws IOException {
+        SseEmitter gone = mock(SseEmitter.class);
+        doThrow(new IOException("Broken pipe")).when(gone).send(any(SseEmitter.SseEventBuilder.class));
+        taskFeed.subscribe(TaskQuery.ALL, gone);
+
+        taskFeed.heartbeat();
+
+        verify(gone, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(gone, after(100).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(0, taskFeed.subscriberCount());
+    }
+
+    @Test
+    void send_stalledClient_doesNotBlockOthersAndIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stalled = mock(SseEmitter.class);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(stalled).send(any(SseEmitter.SseEventBuilder.class));
+        SseEmitter healthy = mock(SseEmitter.class);
+        taskFeed.subscribe(TaskQuery.ALL, stalled);
+        taskFeed.subscribe(TaskQuery.ALL, healthy);
+
+        for (int i = 1; i <= 5; i++) {
+            taskFeed.heartbeat();
+            verify(healthy, timeout(1000).times(i)).send(any(SseEmitter.SseEventBuilder.class));
+        }
+
+        verify(stalled, after(100).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1, taskFeed.subscriberCount());
+
+        release.countDown();
+        verify(stalled, timeout(1000)).complete();
+        verify(stalled, after(100).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void dropStalledSubscribers_sendBlockedPastTimeout_dropsAndCompletesAfterWrite() throws Exception {
+        TaskFeed feed = new TaskFeed(taskRepository, new TaskMapper(), Duration.ofMinutes(1), 2, 1,
+                Duration.ofMillis(50));
+        try {
+            CountDownLatch sending = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            SseEmitter stalled = mock(SseEmitter.class);
+            doAnswer(invocation -> {
+                sending.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }).when(stalled).send(any(SseEmitter.SseEventBuilder.class));
+            feed.subscribe(TaskQuery.ALL, stalled);
+
+            feed.heartbeat();
+            assertTrue(sending.await(1, TimeUnit.SECONDS));
+            feed.dropStalledSubscribers();
+            assertEquals(1, feed.subscriberCount());
+
+            Thread.sleep(100);
+            feed.dropStalledSubscribers();
+            assertEquals(0, feed.subscriberCount());
+
+            release.countDown();
+            verify(stalled, timeout(1000)).complete();
+        } finally {
+            feed.close();
+        }
+    }
+
+    @Test
+    void onOutboxBroadcast_fanOutOverflow_completesEverySubscriber() throws Exception {
+        SseEmitter first = mock(SseEmitter.class);
+        SseEmitter second = mock(SseEmitter.class);
+        taskFeed.subscribe(TaskQuery.ALL, first);
+        taskFeed.subscribe(TaskQuery.ALL, second);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findRows(List.of(1L))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        taskFeed.onOutboxBroadcast(commentBroadcast(1L));
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+
+        for (int i = 0; i <= TaskFeed.FAN_OUT_QUEUE_CAPACITY; i++) {
+            taskFeed.onOutboxBroadcast(taskBroadcast("task.created", row(2L, "author@mail.com", null), null));
+        }
+
+        assertEquals(0, taskFeed.subscriberCount());
+        verify(first, timeout(1000)).complete();
+        verify(second, timeout(1000)).complete();
+        release.countDown();
+        verify(first, after(100).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private static OutboxBroadcast taskBroadcast(String type, TaskListRow task, String previousAssignee) {
+        TaskPayload payload = new TaskPayload(new TaskMapper().toListResponse(task), previousAssignee);
+        return new OutboxBroadcast(new OutboxMessage(1L, task.id(), type, "{}", LocalDateTime.now()), payload);
+    }
+
+    private static OutboxBroadcast commentBroadcast(Long taskId) {
+        OutboxMessage message = new OutboxMessage(1L, taskId, OutboxMessage.COMMENT_CREATED, "{}", LocalDateTime.now());
+        return new OutboxBroadcast(message, null);
+    }
+
+    private static TaskQuery query(String author, String assignee) {
+        return new TaskQuery(Set.of(), author, assignee, null, null);
+    }
+
+    private static TaskListRow row(Long id, String author, String assignee) {
+        return new TaskListRow(id, "Task " + id, "Description", TaskStatus.CREATED, author, assignee, 0, LocalDateTime.now());
+    }
+}
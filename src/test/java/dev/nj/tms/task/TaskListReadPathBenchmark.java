@@ -0,0 +1,145 @@
+package dev.nj.tms.task;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class TaskListReadPathBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskListReadPathBenchmark.class);
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("tms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Test
+    void compareEntityAndProjectionReadPaths() {
+        seedTasks();
+
+        Supplier<List<TaskListResponse>> entityPath = () -> transactionTemplate.execute(status -> entityManager
+                .createQuery("select t from Task t order by t.created desc, t.id desc", Task.class)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(TaskListReadPathBenchmark::toListResponse)
+                .toList());
+
+        Supplier<List<TaskListResponse>> projectionPath = () -> transactionTemplate.execute(status -> taskRepository
+                .findPage(TaskQuery.ALL, TaskCursor.FIRST, ROWS)
+                .stream()
+                .map(taskMapper::toListResponse)
+                .toList());
+
+        measure("entity", entityPath);
+        measure("projection", projectionPath);
+    }
+
+    private void measure(String name, Supplier<List<TaskListResponse>> readPath) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            readPath.get();
+        }
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<TaskListResponse> tasks = readPath.get();
+            totalNanos += System.nanoTime() - start;
+            totalBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            assertEquals(ROWS, tasks.size());
+        }
+
+        logger.info("{} read path, {} rows: {} ms/op, {} MB allocated/op", name, ROWS,
+                totalNanos / MEASURED_ROUNDS / 1_000_000, totalBytes / MEASURED_ROUNDS / (1024 * 1024));
+    }
+
+    private void seedTasks() {
+        jdbcTemplate.update("delete from task");
+
+        LocalDateTime base = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{
+                    "Task " + i,
+                    "Description of task " + i,
+                    TaskStatus.CREATED.ordinal(),
+                    "user" + (i % 100) + "@mail.com",
+                    i % 3 == 0 ? null : "user" + (i % 50) + "@mail.com",
+                    Timestamp.valueOf(base.minusSeconds(i)),
+                    i % 7
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into task (title, description, status, author, assignee, created, comment_count)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    private static TaskListResponse toListResponse(Task task) {
+        return new TaskListResponse(
+                task.getId().toString(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus().toString(),
+                task.getAuthor(),
+                task.getAssignee() != null ? task.getAssignee() : "none",
+                task.getCommentCount()
+        );
+    }
+}
@@ -0,0 +1,244 @@
+package dev.nj.tms.task;
+
+import dev.nj.tms.config.SparseFieldset;
+import dev.nj.tms.outbox.OutboxBroadcast;
+import dev.nj.tms.outbox.OutboxMessage;
+import dev.nj.tms.outbox.TaskPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskPageCacheTest {
+
+    private static final TaskQuery USER1_TASKS = new TaskQuery(Set.of(), "user1@mail.com", null, null, null);
+    private static final TaskQuery USER2_TASKS = new TaskQuery(Set.of(), "user2@mail.com", null, null, null);
+    private static final TaskQuery UNASSIGNED_TASKS = new TaskQuery(Set.of(), null, TaskQuery.UNASSIGNED, null, null);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskPageCache taskPageCache;
+
+    @BeforeEach
+    void setUp() {
+        taskPageCache = new TaskPageCache(taskRepository, new TaskMapper(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void get_repeatedQuery_hitsRepositoryOnce() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(1L, "user1@mail.com", null)));
+
+        TaskPage first = taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        TaskPage second = taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        assertEquals(first, second);
+        verify(taskRepository, times(1)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    void onTaskChanged_evictsOnlyMatchingAuthorAndAssigneeEntries() {
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of());
+        taskPageCache.get(TaskQuery.ALL, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(UNASSIGNED_TASKS, TaskCursor.FIRST, 50);
+
+        taskPageCache.onTaskChanged(new TaskChangedEvent("user1@mail.com", "user3@mail.com", "user4@mail.com"));
+
+        taskPageCache.get(TaskQuery.ALL, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(UNASSIGNED_TASKS, TaskCursor.FIRST, 50);
+
+        verify(taskRepository, times(2)).findPage(TaskQuery.ALL, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(1)).findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(1)).findPage(UNASSIGNED_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    void onTaskCommented_evictsOnlyPagesContainingTheTask() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(1L, "user1@mail.com", null)));
+        when(taskRepository.findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(2L, "user2@mail.com", null)));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+
+        taskPageCache.onTaskCommented(new TaskCommentedEvent(2L));
+
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+
+        verify(taskRepository, times(1)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(2)).findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    void onOutboxBroadcast_changeFromAnotherNode_evictsMatchingPagesAndBumpsVersion() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(1L, "user1@mail.com", null)));
+        when(taskRepository.findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(2L, "user2@mail.com", null)));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+        String version = taskPageCache.version();
+
+        TaskPayload payload = new TaskPayload(new TaskMapper().toListResponse(row(3L, "user1@mail.com", null)), null);
+        taskPageCache.onOutboxBroadcast(new OutboxBroadcast(
+                new OutboxMessage(1L, 3L, "task.created", "{}", LocalDateTime.now()), payload));
+        taskPageCache.onOutboxBroadcast(new OutboxBroadcast(
+                new OutboxMessage(2L, 2L, OutboxMessage.COMMENT_CREATED, "{}", LocalDateTime.now()), null));
+
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(2)).findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        assertNotEquals(version, taskPageCache.version());
+    }
+
+    @Test
+    void onOutboxBroadcast_activityRepaired_dropsEveryPage() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenReturn(List.of(row(1L, "user1@mail.com", null)));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        String version = taskPageCache.version();
+
+        taskPageCache.onOutboxBroadcast(new OutboxBroadcast(
+                new OutboxMessage(0L, null, OutboxMessage.ACTIVITY_REPAIRED, "{}", LocalDateTime.now()), null));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        assertEquals(Set.of("1"), taskPageCache.indexedTaskIds());
+        assertNotEquals(version, taskPageCache.version());
+    }
+
+    @Test
+    void refresh_acrossEviction_dropsThePageFromTheIndex() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS))
+                .thenReturn(List.of(row(1L, "user1@mail.com", null)))
+                .thenAnswer(invocation -> {
+                    taskPageCache.onTaskChanged(new TaskChangedEvent("user2@mail.com", null, null));
+                    return List.of(row(1L, "user1@mail.com", null));
+                });
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        assertEquals(Set.of("1"), taskPageCache.indexedTaskIds());
+
+        taskPageCache.refresh(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        assertEquals(Set.of(), taskPageCache.indexedTaskIds());
+    }
+
+    @Test
+    void refresh_replacedPage_indexesOnlyTheNewRows() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS))
+                .thenReturn(List.of(row(1L, "user1@mail.com", null)))
+                .thenReturn(List.of(row(2L, "user1@mail.com", null)));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        taskPageCache.refresh(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        assertEquals(Set.of("2"), taskPageCache.indexedTaskIds());
+    }
+
+    @Test
+    void clear_thenReload_leavesOnlyTheReloadedPageIndexed() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS))
+                .thenReturn(List.of(row(1L, "user1@mail.com", null)));
+        when(taskRepository.findPage(USER2_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS))
+                .thenReturn(List.of(row(2L, "user2@mail.com", null)));
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+
+        taskPageCache.clear();
+        assertEquals(Set.of(), taskPageCache.indexedTaskIds());
+        taskPageCache.get(USER2_TASKS, TaskCursor.FIRST, 50);
+
+        assertEquals(Set.of("2"), taskPageCache.indexedTaskIds());
+    }
+
+    @Test
+    void get_evictionDuringLoad_doesNotCacheTheLoadedPage() {
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS)).thenAnswer(invocation -> {
+            taskPageCache.onTaskChanged(new TaskChangedEvent("user1@mail.com", null, null));
+            return List.of(row(1L, "user1@mail.com", null));
+        });
+
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    void onTaskCommented_evictsEveryPageListingTheTask() {
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class)))
+                .thenReturn(List.of(row(1L, "user1@mail.com", null)));
+        taskPageCache.get(TaskQuery.ALL, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50, SparseFieldset.of("id", "title"));
+
+        taskPageCache.onTaskCommented(new TaskCommentedEvent(1L));
+        taskPageCache.onTaskCommented(new TaskCommentedEvent(1L));
+
+        taskPageCache.get(TaskQuery.ALL, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        taskPageCache.get(USER1_TASKS, TaskCursor.FIRST, 50, SparseFieldset.of("id", "title"));
+
+        verify(taskRepository, times(2)).findPage(TaskQuery.ALL, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+        verify(taskRepository, times(2)).findPage(USER1_TASKS, TaskCursor.FIRST, 51, SparseFieldset.of("id", "title"));
+    }
+
+    @Test
+    void evictions_eachMoveTheVersion() {
+        String initial = taskPageCache.version();
+        taskPageCache.onTaskChanged(new TaskChangedEvent("user1@mail.com", null, null));
+        String afterChange = taskPageCache.version();
+        taskPageCache.onTaskCommented(new TaskCommentedEvent(1L));
+        String afterComment = taskPageCache.version();
+        taskPageCache.clear();
+
+        assertEquals(4, Set.of(initial, afterChange, afterComment, taskPageCache.version()).size());
+    }
+
+    @Test
+    void version_changeOnAnotherNode_movesOnlyOnceThisNodeHasEvicted() {
+        TaskPageCache otherNode = new TaskPageCache(taskRepository, new TaskMapper(), 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        when(taskRepository.findPage(USER1_TASKS, TaskCursor.FIRST, 51, TaskListResponse.FIELDS))
+                .thenReturn(List.of(row(1L, "user1@mail.com", null)))
+                .thenReturn(List.of(row(3L, "user1@mail.com", null), row(1L, "user1@mail.com", null)));
+        otherNode.get(USER1_TASKS, TaskCursor.FIRST, 50);
+        String before = otherNode.version();
+
+        // Task 3 is created through this node, which evicts locally; the other node still holds the old page
+        taskPageCache.onTaskChanged(new TaskChangedEvent("user1@mail.com", null, null));
+
+        assertEquals(before, otherNode.version());
+        assertEquals(1, otherNode.get(USER1_TASKS, TaskCursor.FIRST, 50).tasks().size());
+        assertNotEquals(before, taskPageCache.version());
+
+        TaskPayload payload = new TaskPayload(new TaskMapper().toListResponse(row(3L, "user1@mail.com", null)), null);
+        otherNode.onOutboxBroadcast(new OutboxBroadcast(
+                new OutboxMessage(1L, 3L, "task.created", "{}", LocalDateTime.now()), payload));
+
+        assertNotEquals(before, otherNode.version());
+        assertEquals(2, otherNode.get(USER1_TASKS, TaskCursor.FIRST, 50).tasks().size());
+    }
+
+    private static TaskListRow row(Long id, String author, String assignee) {
+        return new TaskListRow(id, "T" + id, "D" + id, TaskStatus.CREATED, author, assignee, 0,
+                LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id));
+    }
+}
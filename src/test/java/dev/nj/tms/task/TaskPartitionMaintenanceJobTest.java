@@ -0,0 +1,48 @@
+package dev.nj.tms.task;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskPartitionMaintenanceJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-11-17T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Test
+    void createUpcomingPartitions_createsCurrentAndUpcomingMonths() {
+        when(taskRepository.createPartition(any())).thenReturn(true);
+
+        new TaskPartitionMaintenanceJob(taskRepository, CLOCK, 2).createUpcomingPartitions();
+
+        var inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).createPartition(LocalDate.of(2025, 11, 1));
+        inOrder.verify(taskRepository).createPartition(LocalDate.of(2025, 12, 1));
+        inOrder.verify(taskRepository).createPartition(LocalDate.of(2026, 1, 1));
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void createUpcomingPartitions_monthFails_continuesWithLaterMonths() {
+        when(taskRepository.createPartition(LocalDate.of(2025, 11, 1)))
+                .thenThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"));
+        when(taskRepository.createPartition(LocalDate.of(2025, 12, 1))).thenReturn(true);
+
+        new TaskPartitionMaintenanceJob(taskRepository, CLOCK, 1).createUpcomingPartitions();
+
+        verify(taskRepository).createPartition(LocalDate.of(2025, 12, 1));
+    }
+}
@@ -2,22 +2,40 @@ package dev.nj.tms.task;
 
 import dev.nj.tms.account.Account;
 import dev.nj.tms.account.AccountRepository;
+import dev.nj.tms.config.SparseFieldset;
+import dev.nj.tms.outbox.OutboxBroadcast;
+import dev.nj.tms.outbox.OutboxMessage;
+import dev.nj.tms.outbox.TaskPayload;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,16 +63,26 @@ public class TaskServiceIT {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskPageCache taskPageCache;
+
     @Autowired
     private AccountRepository accountRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         taskRepository.deleteAll();
         accountRepository.deleteAll();
+        taskPageCache.clear();
     }
 
     @Test
@@ -68,7 +96,7 @@ public class TaskServiceIT {
 
         taskRepository.saveAll(List.of(task1, task2, task3));
 
-        List<TaskListResponse> tasks = taskService.getTasks();
+        List<TaskListResponse> tasks = taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks();
 
         assertEquals(3, tasks.size(), "Should return 3 tasks");
 
@@ -82,10 +110,33 @@ public class TaskServiceIT {
         assertEquals(2, countSelf);
         assertEquals(1, countOther);
 
-        // verify order
-        assertEquals("Task 1 by User 1", tasks.get(0).title());
+        // verify order, newest first
+        assertEquals("Task 3 by User 2", tasks.get(0).title());
         assertEquals("Task 2 by User 1", tasks.get(1).title());
-        assertEquals("Task 3 by User 2", tasks.get(2).title());
+        assertEquals("Task 1 by User 1", tasks.get(2).title());
+    }
+
+    @Test
+    void it_pagesThroughAllTasksWithCursor() {
+        for (int i = 1; i <= 5; i++) {
+            taskRepository.save(new Task("Task " + i, "Description " + i, "user1@mail.com"));
+        }
+
+        List<String> titles = new ArrayList<>();
+        TaskCursor cursor = TaskCursor.FIRST;
+        int pages = 0;
+        TaskPage page;
+        do {
+            page = taskService.getTasks(TaskQuery.ALL, cursor, 2);
+            page.tasks().forEach(task -> titles.add(task.title()));
+            pages++;
+            if (page.next() != null) {
+                cursor = TaskCursor.decode(page.next());
+            }
+        } while (page.next() != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Task 5", "Task 4", "Task 3", "Task 2", "Task 1"), titles);
     }
 
     @Test
@@ -96,7 +147,7 @@ public class TaskServiceIT {
 
         taskRepository.saveAll(List.of(task1, task2, task3));
 
-        List<TaskListResponse> tasks = taskService.getTasksByAuthor("user1@mail.com");
+        List<TaskListResponse> tasks = taskService.getTasks(new TaskQuery(Set.of(), "user1@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(2, tasks.size());
         assertEquals(2, tasks.stream().filter(task -> "user1@mail.com".equalsIgnoreCase(task.author())).count());
@@ -110,7 +161,7 @@ public class TaskServiceIT {
 
         taskRepository.saveAll(List.of(task1, task2, task3));
 
-        List<TaskListResponse> tasks = taskService.getTasksByAuthor("user2@mail.com");
+        List<TaskListResponse> tasks = taskService.getTasks(new TaskQuery(Set.of(), "user2@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(1, tasks.size());
 
@@ -125,7 +176,7 @@ public class TaskServiceIT {
 
     @Test
     void it_filterUnknown_returnsEmpty() {
-        List<TaskListResponse> tasks = taskService.getTasksByAuthor("test@mail.com");
+        List<TaskListResponse> tasks = taskService.getTasks(new TaskQuery(Set.of(), "test@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(0, tasks.size());
     }
@@ -142,7 +193,7 @@ public class TaskServiceIT {
         task3.setAssignee("other@mail.com");
         taskRepository.saveAll(List.of(task1, task2, task3));
 
-        List<TaskListResponse> tasks = taskService.getTasksByAssignee(user2);
+        List<TaskListResponse> tasks = taskService.getTasks(new TaskQuery(Set.of(), null, user2, null, null), TaskCursor.FIRST, 50).tasks();
         assertEquals(2, tasks.size());
         assertTrue(tasks.stream().allMatch(t -> user2.equals(t.assignee())));
     }
@@ -165,13 +216,44 @@ public class TaskServiceIT {
 
         taskRepository.saveAll(List.of(task1, task2, task3, task4));
 
-        List<TaskListResponse> tasks = taskService.getTasksByAuthorAndAssignee(author1, assignee1);
+        List<TaskListResponse> tasks = taskService.getTasks(new TaskQuery(Set.of(), author1, assignee1, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(2, tasks.size());
         assertTrue(tasks.stream().allMatch(t -> "author1@mail.com".equals(t.author())));
         assertTrue(tasks.stream().allMatch(t -> "assignee1@mail.com".equals(t.assignee())));
     }
 
+    @Test
+    void it_combinedFilters_returnOnlyMatchingTasks() {
+        Task open = new Task("Open", "D1", "user1@mail.com");
+        Task started = new Task("Started", "D2", "user1@mail.com");
+        started.setStatus(TaskStatus.IN_PROGRESS);
+        Task done = new Task("Done", "D3", "user1@mail.com");
+        done.setStatus(TaskStatus.COMPLETED);
+        Task assigned = new Task("Assigned", "D4", "user1@mail.com");
+        assigned.setAssignee("user2@mail.com");
+        Task otherAuthor = new Task("Other", "D5", "user2@mail.com");
+        taskRepository.saveAll(List.of(open, started, done, assigned, otherAuthor));
+
+        TaskQuery query = new TaskQuery(Set.of(TaskStatus.CREATED, TaskStatus.IN_PROGRESS), "user1@mail.com",
+                TaskQuery.UNASSIGNED, null, null);
+        List<TaskListResponse> tasks = taskService.getTasks(query, TaskCursor.FIRST, 50).tasks();
+
+        assertEquals(List.of("Started", "Open"), tasks.stream().map(TaskListResponse::title).toList());
+    }
+
+    @Test
+    void it_createdRange_isInclusiveFromExclusiveTo() {
+        Task task = taskRepository.save(new Task("T1", "D1", "user1@mail.com"));
+        LocalDateTime created = taskRepository.findById(task.getId()).orElseThrow().getCreated();
+
+        TaskQuery fromCreated = new TaskQuery(Set.of(), null, null, created, created.plusSeconds(1));
+        TaskQuery toCreated = new TaskQuery(Set.of(), null, null, created.minusSeconds(1), created);
+
+        assertEquals(1, taskService.getTasks(fromCreated, TaskCursor.FIRST, 50).tasks().size());
+        assertEquals(0, taskService.getTasks(toCreated, TaskCursor.FIRST, 50).tasks().size());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
             "not-an-email",
@@ -184,10 +266,10 @@ public class TaskServiceIT {
             "test@domain..com",
             "test@.com"
     })
-    @NullAndEmptySource
+    @EmptySource
     void it_invalidAuthor_throws(String invalidAuthor) {
         assertThrows(IllegalArgumentException.class, () ->
-                        taskService.getTasksByAuthor(invalidAuthor),
+                        taskService.getTasks(new TaskQuery(Set.of(), invalidAuthor, null, null, null), TaskCursor.FIRST, 50),
                 "Should throw IllegalArgumentException for invalid author: " + invalidAuthor);
     }
 
@@ -204,7 +286,7 @@ public class TaskServiceIT {
             "user@example.museum"
     })
     void it_validAuthor_doesNotThrow(String validAuthor) {
-        taskService.getTasksByAuthor(validAuthor);
+        taskService.getTasks(new TaskQuery(Set.of(), validAuthor, null, null, null), TaskCursor.FIRST, 50);
     }
 
     @Test
@@ -231,7 +313,7 @@ public class TaskServiceIT {
 
         Task task = taskRepository.save(new Task("Test Task", "Description", "author@mail.com"));
 
-        TaskResponse response = taskService.assignTask(task.getId(), "assignee@mail.com", "author@mail.com");
+        TaskResponse response = taskService.assignTask(task.getId(), "assignee@mail.com", "author@mail.com", null);
 
         assertEquals("assignee@mail.com", response.assignee());
 
@@ -245,7 +327,7 @@ public class TaskServiceIT {
         Account author = new Account(authorEmail, passwordEncoder.encode("secureP1"));
         accountRepository.save(author);
         Task task = taskRepository.save(new Task("Test Task", "Description", authorEmail));
-        TaskResponse response = taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, authorEmail);
+        TaskResponse response = taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, authorEmail, null);
 
         assertEquals("IN_PROGRESS", response.status());
         Task savedTask = taskRepository.findById(task.getId()).orElseThrow();
@@ -262,10 +344,263 @@ public class TaskServiceIT {
         Task task = taskRepository.save(new Task("Test Task", "Description", authorEmail));
         task.setAssignee(assigneeEmail);
         task = taskRepository.save(task);
-        TaskResponse response = taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, assigneeEmail);
+        TaskResponse response = taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, assigneeEmail, null);
 
         assertEquals("COMPLETED", response.status());
         Task savedTask = taskRepository.findById(task.getId()).orElseThrow();
         assertEquals(TaskStatus.COMPLETED, savedTask.getStatus());
     }
+
+    @Test
+    void it_searchTasks_ranksTitleMatchesAboveDescriptionMatches() {
+        TaskResponse inDescription = taskService.createTask("Write docs", "Explain how invoices are generated", "it_user@example.com");
+        TaskResponse inTitle = taskService.createTask("Invoice export fails", "Export stops halfway", "it_user@example.com");
+        taskService.createTask("Release", "Tag and publish", "it_user@example.com");
+
+        List<TaskListResponse> results = taskService.searchTasks("invoice", 20);
+
+        assertEquals(List.of(inTitle.id(), inDescription.id()), results.stream().map(TaskListResponse::id).toList());
+    }
+
+    @Test
+    void it_createTasks_persistsWholeBatchAndReturnsIdsInOrder() {
+        int count = 2_500;
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new CreateTaskRequest("Imported " + i, "Bulk"));
+        }
+
+        List<Long> ids = taskService.createTasks(requests, "it_user@example.com");
+
+        assertEquals(count, ids.size());
+        assertEquals(count, taskRepository.count());
+        Task first = taskRepository.findById(ids.get(0)).orElseThrow();
+        Task last = taskRepository.findById(ids.get(count - 1)).orElseThrow();
+        assertEquals("Imported 0", first.getTitle());
+        assertEquals("Imported " + (count - 1), last.getTitle());
+        assertEquals(TaskStatus.CREATED, last.getStatus());
+        assertEquals("it_user@example.com", last.getAuthor());
+    }
+
+    @Test
+    void it_updateTaskStatus_notPermittedOrMissing_distinguishes403From404() {
+        Task task = taskRepository.save(new Task("Test Task", "Description", "author@mail.com"));
+
+        assertThrows(ForbiddenException.class,
+                () -> taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, "intruder@mail.com", null));
+        assertThrows(TaskNotFoundException.class,
+                () -> taskService.updateTaskStatus(999_999L, TaskStatus.COMPLETED, "author@mail.com", null));
+        assertEquals(TaskStatus.CREATED, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void it_createPartition_createsMissingMonthOnce() {
+        LocalDate month = LocalDate.of(2099, 1, 1);
+
+        assertTrue(taskRepository.createPartition(month));
+        assertFalse(taskRepository.createPartition(month));
+
+        Task task = new Task("Future", "Description", "author@mail.com");
+        ReflectionTestUtils.setField(task, "created", month.atTime(12, 0));
+        Long id = taskRepository.save(task).getId();
+        assertEquals(1, taskService.getTasks(new TaskQuery(Set.of(), null, null, month.atStartOfDay(),
+                month.plusMonths(1).atStartOfDay()), TaskCursor.FIRST, 10).tasks().size());
+        assertTrue(taskRepository.findById(id).isPresent());
+    }
+
+    @Test
+    void it_createPartition_movesRowsOutOfDefaultPartition() {
+        LocalDate month = LocalDate.of(2098, 6, 1);
+        Task task = new Task("Early", "Description", "author@mail.com");
+        ReflectionTestUtils.setField(task, "created", month.atTime(12, 0));
+        Long id = taskRepository.save(task).getId();
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from task_default where id = ?", Integer.class, id));
+
+        assertTrue(taskRepository.createPartition(month));
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from task_default where id = ?", Integer.class, id));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from task_2098_06 where id = ?", Integer.class, id));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from task_inbox where task_id = ?", Integer.class, id));
+    }
+
+    @Test
+    void it_updateTaskStatus_bumpsVersionAndRejectsStaleVersion() {
+        Task task = taskRepository.save(new Task("Test Task", "Description", "author@mail.com"));
+        long initial = task.getVersion();
+
+        TaskResponse first = taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, "author@mail.com", initial);
+        assertEquals(initial + 1, first.version());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, "author@mail.com", initial));
+        Task saved = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, saved.getStatus());
+        assertEquals(initial + 1, saved.getVersion());
+    }
+
+    @Test
+    void it_assignTasks_updatesOnlyOwnTasks() {
+        accountRepository.saveAll(List.of(
+                new Account("author@mail.com", passwordEncoder.encode("secureP1")),
+                new Account("assignee@mail.com", passwordEncoder.encode("secureP2"))));
+        Task own = taskRepository.save(new Task("Own", "D", "author@mail.com"));
+        Task foreign = taskRepository.save(new Task("Foreign", "D", "other@mail.com"));
+
+        BulkUpdateResponse response = taskService.assignTasks(
+                List.of(own.getId(), foreign.getId(), 999_999L), "assignee@mail.com", "author@mail.com");
+
+        assertEquals(List.of(own.getId().toString()), response.updated());
+        assertEquals(List.of(foreign.getId().toString()), response.forbidden());
+        assertEquals(List.of("999999"), response.missing());
+        assertEquals("assignee@mail.com", taskRepository.findById(own.getId()).orElseThrow().getAssignee());
+        assertNull(taskRepository.findById(foreign.getId()).orElseThrow().getAssignee());
+    }
+
+    @Test
+    void it_assignAll_concurrentAssign_reportsAssigneeItReplaced() throws Exception {
+        Task task = taskRepository.save(new Task("Contended", "D", "author@mail.com"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstAssigned = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.assignAll(List.of(task.getId()), "first@mail.com", "author@mail.com", null);
+                firstAssigned.countDown();
+                awaitQuietly(releaseFirst);
+            }));
+            assertTrue(firstAssigned.await(10, TimeUnit.SECONDS));
+            Future<List<UpdatedTask>> second = executor.submit(() -> transactionTemplate.execute(status ->
+                    taskRepository.assignAll(List.of(task.getId()), "second@mail.com", "author@mail.com", null)));
+            awaitLockWaiter();
+            releaseFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+
+            List<UpdatedTask> updated = second.get(10, TimeUnit.SECONDS);
+            assertEquals(1, updated.size());
+            assertEquals("first@mail.com", updated.get(0).previousAssignee());
+            assertEquals("second@mail.com", updated.get(0).task().assignee());
+            assertEquals(2, updated.get(0).version());
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void it_updateTasksStatus_allowsAuthorOrAssignee() {
+        Task authored = taskRepository.save(new Task("Authored", "D", "user@mail.com"));
+        Task assigned = new Task("Assigned", "D", "other@mail.com");
+        assigned.setAssignee("user@mail.com");
+        assigned = taskRepository.save(assigned);
+        Task foreign = taskRepository.save(new Task("Foreign", "D", "other@mail.com"));
+
+        BulkUpdateResponse response = taskService.updateTasksStatus(
+                List.of(authored.getId(), assigned.getId(), foreign.getId()), TaskStatus.COMPLETED, "user@mail.com");
+
+        assertEquals(List.of(authored.getId().toString(), assigned.getId().toString()), response.updated());
+        assertEquals(List.of(foreign.getId().toString()), response.forbidden());
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(assigned.getId()).orElseThrow().getStatus());
+        assertEquals(TaskStatus.CREATED, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void it_inbox_followsReassignmentStatusAndDelete() {
+        accountRepository.saveAll(List.of(
+                new Account("author@mail.com", passwordEncoder.encode("secureP1")),
+                new Account("first@mail.com", passwordEncoder.encode("secureP2")),
+                new Account("second@mail.com", passwordEncoder.encode("secureP3"))));
+        Task task = taskRepository.save(new Task("Inbox", "D", "author@mail.com"));
+        taskService.assignTask(task.getId(), "first@mail.com", "author@mail.com", null);
+        taskService.assignTask(task.getId(), "second@mail.com", "author@mail.com", null);
+        taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, "second@mail.com", null);
+        taskPageCache.clear();
+
+        TaskQuery inProgress = new TaskQuery(Set.of(TaskStatus.IN_PROGRESS), null, "second@mail.com", null, null);
+        assertEquals(List.of(task.getId().toString()), taskService.getTasks(inProgress, TaskCursor.FIRST, 10)
+                .tasks().stream().map(TaskListResponse::id).toList());
+        assertEquals(0, taskService.getTasks(new TaskQuery(Set.of(), null, "first@mail.com", null, null),
+                TaskCursor.FIRST, 10).tasks().size());
+        assertEquals(1, taskService.getTasks(new TaskQuery(Set.of(), "author@mail.com", null, null, null),
+                TaskCursor.FIRST, 10).tasks().size());
+
+        taskRepository.deleteAll();
+        taskPageCache.clear();
+        assertEquals(0, taskService.getTasks(new TaskQuery(Set.of(), "author@mail.com", null, null, null),
+                TaskCursor.FIRST, 10).tasks().size());
+    }
+
+    @Test
+    void it_getTasks_withFields_leavesOtherColumnsUnread() {
+        Task task = new Task("Narrow", "A long description", "author@mail.com");
+        task.setAssignee("assignee@mail.com");
+        taskRepository.save(task);
+        SparseFieldset fields = TaskListResponse.FIELDS.select(List.of("id", "title", "status"));
+
+        for (TaskQuery query : List.of(TaskQuery.ALL, new TaskQuery(Set.of(), "author@mail.com", null, null, null))) {
+            TaskListRow row = taskRepository.findPage(query, TaskCursor.FIRST, 10, fields).get(0);
+            assertEquals("Narrow", row.title());
+            assertEquals(TaskStatus.CREATED, row.status());
+            assertNull(row.description());
+            assertNull(row.author());
+            assertNull(row.assignee());
+        }
+    }
+
+    @Test
+    void it_getTasksETag_changesOnEveryWrite() {
+        String fresh = taskService.getTasksETag(TaskQuery.ALL, 50);
+        taskService.createTask("First task", "Description", "user1@mail.com");
+        String afterFirst = taskService.getTasksETag(TaskQuery.ALL, 50);
+        taskService.createTask("Second task", "Description", "user1@mail.com");
+        String afterSecond = taskService.getTasksETag(TaskQuery.ALL, 50);
+
+        assertEquals(3, Set.of(fresh, afterFirst, afterSecond).size());
+    }
+
+    // The other node is a second cache over the same database; it only hears of the write through the broadcast
+    @Test
+    void it_twoNodes_otherNodeKeepsItsVersionUntilTheBroadcastEvictsItsPage() {
+        TaskPageCache otherNode = new TaskPageCache(taskRepository, new TaskMapper(), 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        taskService.createTask("First task", "Description", "user1@mail.com");
+        assertEquals(1, otherNode.get(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks().size());
+        String before = otherNode.version();
+
+        TaskResponse created = taskService.createTask("Second task", "Description", "user1@mail.com");
+
+        assertEquals(before, otherNode.version());
+        assertEquals(1, otherNode.get(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks().size());
+        assertNotEquals(taskPageCache.version(), otherNode.version());
+
+        TaskListResponse task = taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks().get(0);
+        otherNode.onOutboxBroadcast(new OutboxBroadcast(
+                new OutboxMessage(1L, Long.valueOf(created.id()), "task.created", "{}", LocalDateTime.now()),
+                new TaskPayload(task, null)));
+
+        assertNotEquals(before, otherNode.version());
+        assertEquals(2, otherNode.get(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks().size());
+    }
+
+    // Waits until another session is blocked on a row lock, so the assertion covers the contended path
+    private void awaitLockWaiter() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_stat_activity where wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("No session started waiting for the row lock");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -3,19 +3,28 @@ package dev.nj.tms.task;
 import dev.nj.tms.account.AccountNotFoundException;
 import dev.nj.tms.account.AccountRepository;
 import dev.nj.tms.comment.CommentRepository;
+import dev.nj.tms.config.SparseFieldset;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,72 +42,178 @@ public class TaskServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
-    @InjectMocks
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskFeed taskFeed;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private TaskServiceImpl taskService;
 
+    @BeforeEach
+    void setUp() {
+        TaskPageCache taskPageCache = new TaskPageCache(taskRepository, taskMapper, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+        taskService = new TaskServiceImpl(taskRepository, accountRepository, taskMapper, taskPageCache, taskSearchIndex,
+                taskFeed, eventPublisher);
+    }
+
     @Test
     void getTasks_returnsVisibleTasks_whenNoAuthFilter() {
-        String currentUserEmail = "user1@example.com";
+        TaskListRow t1 = row(1L, "T1", "D1", "user1@mail.com", null);
+        TaskListRow t2 = row(2L, "T2", "D2", "user1@mail.com", null);
+        TaskListRow t3 = row(3L, "T3", "D3", "user2@mail.com", null);
 
-        Task t1 = new Task("T1", "D1", "user1@mail.com");
-        Task t2 = new Task("T2", "D2", "user1@mail.com");
-        Task t3 = new Task("T3", "D3", "user2@mail.com");
-
-        when(taskRepository.findAll(any(Sort.class))).thenReturn(List.of(t1, t2, t3));
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of(t1, t2, t3));
         when(taskMapper.toListResponse(t1)).thenReturn(new TaskListResponse("1", "T1", "D1", "CREATED", "user1@mail.com", "none", 0));
         when(taskMapper.toListResponse(t2)).thenReturn(new TaskListResponse("2", "T2", "D2", "CREATED", "user1@mail.com", "none", 0));
         when(taskMapper.toListResponse(t3)).thenReturn(new TaskListResponse("3", "T3", "D3", "CREATED", "user2@mail.com", "none", 0));
 
-        var responses = taskService.getTasks();
+        var responses = taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 50).tasks();
 
         assertEquals(3, responses.size());
         long user1Count = responses.stream().filter(r -> "user1@mail.com".equals(r.author())).count();
         long user2Count = responses.stream().filter(r -> "user2@mail.com".equals(r.author())).count();
         assertEquals(2, user1Count);
         assertEquals(1, user2Count);
-        verify(taskRepository).findAll(any(Sort.class));
-        verify(taskMapper, times(3)).toListResponse(any(Task.class));
+        verify(taskRepository).findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class));
+        verify(taskMapper, times(3)).toListResponse(any(TaskListRow.class));
+    }
+
+    @Test
+    void getTasks_moreRowsThanLimit_returnsNextCursorFromLastRow() {
+        TaskListRow t1 = row(1L, "T1", "D1", "user1@mail.com", null);
+        TaskListRow t2 = row(2L, "T2", "D2", "user1@mail.com", null);
+        TaskListRow t3 = row(3L, "T3", "D3", "user2@mail.com", null);
+
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of(t3, t2, t1));
+
+        TaskPage page = taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 2);
+
+        assertEquals(2, page.tasks().size());
+        assertEquals(TaskCursor.after(t2), TaskCursor.decode(page.next()));
+
+        verify(taskRepository).findPage(TaskQuery.ALL, TaskCursor.FIRST, 3, TaskListResponse.FIELDS);
+        verify(taskMapper, times(2)).toListResponse(any(TaskListRow.class));
+    }
+
+    @Test
+    void getTasks_lastPage_hasNoNextCursor() {
+        TaskListRow t1 = row(1L, "T1", "D1", "user1@mail.com", null);
+
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of(t1));
+
+        TaskPage page = taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 2);
+
+        assertEquals(1, page.tasks().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    void getTasks_throwsOnInvalidLimit() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(TaskQuery.ALL, TaskCursor.FIRST, 0));
+
+        assertTrue(exception.getMessage().contains("Limit must be between 1 and 500"));
+        verify(taskRepository, never()).findPage(any(), any(), anyInt(), any(SparseFieldset.class));
+    }
+
+    @Test
+    void getTasksETag_throwsOnInvalidLimit() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasksETag(TaskQuery.ALL, 0));
+
+        assertTrue(exception.getMessage().contains("Limit must be between 1 and 500"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void streamTasks_passesEachRowToConsumer() {
+        TaskListRow t1 = row(1L, "T1", "D1", "user1@mail.com", null);
+        TaskListRow t2 = row(2L, "T2", "D2", "user1@mail.com", null);
+        TaskListResponse r1 = new TaskListResponse("1", "T1", "D1", "CREATED", "user1@mail.com", "none", 0);
+        TaskListResponse r2 = new TaskListResponse("2", "T2", "D2", "CREATED", "user1@mail.com", "none", 0);
+
+        when(taskRepository.stream(new TaskQuery(Set.of(), "user1@mail.com", null, null, null))).thenReturn(Stream.of(t1, t2));
+        when(taskMapper.toListResponse(t1)).thenReturn(r1);
+        when(taskMapper.toListResponse(t2)).thenReturn(r2);
+
+        List<TaskListResponse> received = new ArrayList<>();
+        long count = taskService.streamTasks(new TaskQuery(Set.of(), "user1@mail.com", null, null, null), received::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(r1, r2), received);
+    }
+
+    @Test
+    void streamTasks_throwsOnInvalidAssignee() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> taskService.streamTasks(new TaskQuery(Set.of(), null, "not-an-email", null, null), r -> {}));
+
+        assertTrue(exception.getMessage().contains("Assignee must be in a valid format"));
+        verify(taskRepository, never()).stream(any());
+    }
+
+    @Test
+    void getTasks_normalizesEmailsBeforeQuerying() {
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of());
+
+        taskService.getTasks(new TaskQuery(Set.of(TaskStatus.COMPLETED), "User1@Mail.com", "none", null, null), TaskCursor.FIRST, 50);
+
+        verify(taskRepository).findPage(
+                new TaskQuery(Set.of(TaskStatus.COMPLETED), "user1@mail.com", "none", null, null), TaskCursor.FIRST, 51, TaskListResponse.FIELDS);
+    }
+
+    @Test
+    void getTasks_throwsOnEmptyCreatedRange() {
+        LocalDateTime from = LocalDateTime.of(2025, 2, 1, 0, 0);
+        TaskQuery query = new TaskQuery(Set.of(), null, null, from, from.minusDays(1));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(query, TaskCursor.FIRST, 50));
+
+        assertTrue(exception.getMessage().contains("createdFrom must be before createdTo"));
+        verify(taskRepository, never()).findPage(any(), any(), anyInt(), any(SparseFieldset.class));
     }
 
     @Test
     void getTasks_filterBySelf_whenAuthorIsCurrentUser() {
-        Task t1 = new Task("T1", "D1", "user1@mail.com");
-        Task t2 = new Task("T2", "D2", "user1@mail.com");
+        TaskListRow t1 = row(1L, "T1", "D1", "user1@mail.com", null);
+        TaskListRow t2 = row(2L, "T2", "D2", "user1@mail.com", null);
 
-        when(taskRepository.findAllByAuthorIgnoreCase(any(String.class), any(Sort.class))).thenReturn(List.of(t1, t2));
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of(t1, t2));
         when(taskMapper.toListResponse(t1)).thenReturn(new TaskListResponse("1", "T1", "D1", "CREATED", "user1@mail.com", "none", 0));
         when(taskMapper.toListResponse(t2)).thenReturn(new TaskListResponse("2", "T2", "D2", "CREATED", "user1@mail.com", "none", 0));
 
-        var responses = taskService.getTasksByAuthor("user1@mail.com");
+        var responses = taskService.getTasks(new TaskQuery(Set.of(), "user1@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(2, responses.size());
         long user1Count = responses.stream().filter(r -> "user1@mail.com".equals(r.author())).count();
         assertEquals(2, user1Count);
-        verify(taskRepository).findAllByAuthorIgnoreCase(any(String.class), any(Sort.class));
-        verify(taskMapper, times(2)).toListResponse(any(Task.class));
+        verify(taskRepository).findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class));
+        verify(taskMapper, times(2)).toListResponse(any(TaskListRow.class));
     }
 
     @Test
     void getTasks_filterByOtherUser_whenAuthorIsOther() {
-        Task t3 = new Task("T3", "D3", "user2@mail.com");
+        TaskListRow t3 = row(3L, "T3", "D3", "user2@mail.com", null);
 
-        when(taskRepository.findAllByAuthorIgnoreCase(any(String.class), any(Sort.class))).thenReturn(List.of(t3));
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of(t3));
         when(taskMapper.toListResponse(t3)).thenReturn(new TaskListResponse("3", "T3", "D3", "CREATED", "user2@mail.com", "none", 0));
 
-        var responses = taskService.getTasksByAuthor("user2@mail.com");
+        var responses = taskService.getTasks(new TaskQuery(Set.of(), "user2@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(1, responses.size());
         long user2Count = responses.stream().filter(r -> "user2@mail.com".equals(r.author())).count();
         assertEquals(1, user2Count);
-        verify(taskRepository).findAllByAuthorIgnoreCase(any(String.class), any(Sort.class));
-        verify(taskMapper, times(1)).toListResponse(any(Task.class));
+        verify(taskRepository).findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class));
+        verify(taskMapper, times(1)).toListResponse(any(TaskListRow.class));
     }
 
     @Test
     void getTasks_returnsEmpty_whenUnknownAuthor() {
-        when(taskRepository.findAllByAuthorIgnoreCase(any(String.class), any(Sort.class))).thenReturn(List.of());
+        when(taskRepository.findPage(any(TaskQuery.class), any(TaskCursor.class), anyInt(), any(SparseFieldset.class))).thenReturn(List.of());
 
-        var responses = taskService.getTasksByAuthor("test@mail.com");
+        var responses = taskService.getTasks(new TaskQuery(Set.of(), "test@mail.com", null, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(0, responses.size());
     }
@@ -107,7 +222,7 @@ public class TaskServiceTest {
     void getTasks_throwsOnInvalidAuthorFormat() {
         String invalidAuthor = "not-an-email";
 
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByAuthor(invalidAuthor));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(new TaskQuery(Set.of(), invalidAuthor, null, null, null), TaskCursor.FIRST, 50));
 
         assertTrue(exception.getMessage().contains("Author must be in a valid format"));
     }
@@ -115,25 +230,23 @@ public class TaskServiceTest {
     @Test
     void getTasksByAssignee_validAssignee_returnsTaskForAssignee() {
         String assigneeEmail = "user2@mail.com";
-        Task task1 = new Task("Task 1", "Description 1", "user1@mail.com");
-        task1.setAssignee(assigneeEmail);
-        Task task2 = new Task("Task 2", "Description 2", "user1@mail.com");
-        task2.setAssignee(assigneeEmail);
+        TaskListRow task1 = row(1L, "Task 1", "Description 1", "user1@mail.com", assigneeEmail);
+        TaskListRow task2 = row(2L, "Task 2", "Description 2", "user1@mail.com", assigneeEmail);
 
-        List<Task> tasks = List.of(task1, task2);
+        List<TaskListRow> tasks = List.of(task1, task2);
 
-        when(taskRepository.findAllByAssigneeIgnoreCase(eq(assigneeEmail), any(Sort.class))).thenReturn(tasks);
+        when(taskRepository.findPage(eq(new TaskQuery(Set.of(), null, assigneeEmail, null, null)), eq(TaskCursor.FIRST), eq(51), eq(TaskListResponse.FIELDS))).thenReturn(tasks);
         when(taskMapper.toListResponse(task1)).thenReturn(
                 new TaskListResponse("1", "Task 1", "Description 1", "CREATED", "user1@mail.com", assigneeEmail, 0));
         when(taskMapper.toListResponse(task2)).thenReturn(
                 new TaskListResponse("2", "Task 2", "Description 2", "CREATED", "user1@mail.com", assigneeEmail, 0));
 
-        List<TaskListResponse> result = taskService.getTasksByAssignee(assigneeEmail);
+        List<TaskListResponse> result = taskService.getTasks(new TaskQuery(Set.of(), null, assigneeEmail, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(2, result.size());
         assertEquals(assigneeEmail, result.get(0).assignee());
         assertEquals(assigneeEmail, result.get(1).assignee());
-        verify(taskRepository).findAllByAssigneeIgnoreCase(eq(assigneeEmail), any(Sort.class));
+        verify(taskRepository).findPage(eq(new TaskQuery(Set.of(), null, assigneeEmail, null, null)), eq(TaskCursor.FIRST), eq(51), eq(TaskListResponse.FIELDS));
     }
 
     @Test
@@ -141,27 +254,25 @@ public class TaskServiceTest {
         String authorEmail = "user1@mail.com";
         String assigneeEmail = "user2@mail.com";
 
-        Task task1 = new Task("Task 1", "Description 1", "user1@mail.com");
-        task1.setAssignee(assigneeEmail);
-        Task task2 = new Task("Task 2", "Description 2", "user1@mail.com");
-        task2.setAssignee(assigneeEmail);
+        TaskListRow task1 = row(1L, "Task 1", "Description 1", authorEmail, assigneeEmail);
+        TaskListRow task2 = row(2L, "Task 2", "Description 2", authorEmail, assigneeEmail);
 
-        List<Task> tasks = List.of(task1, task2);
+        List<TaskListRow> tasks = List.of(task1, task2);
 
-        when(taskRepository.findAllByAuthorIgnoreCaseAndAssigneeIgnoreCase(
-                eq(authorEmail), eq(assigneeEmail), any(Sort.class))).thenReturn(tasks);
+        when(taskRepository.findPage(
+                eq(new TaskQuery(Set.of(), authorEmail, assigneeEmail, null, null)), eq(TaskCursor.FIRST), eq(51), eq(TaskListResponse.FIELDS))).thenReturn(tasks);
         when(taskMapper.toListResponse(task1))
                 .thenReturn(new TaskListResponse( "1", "Task 1", "Description 1", "CREATED", authorEmail, assigneeEmail, 0));
         when(taskMapper.toListResponse(task2))
                 .thenReturn(new TaskListResponse( "2", "Task 2", "Description 2", "CREATED", authorEmail, assigneeEmail, 0));
 
-        List<TaskListResponse> result = taskService.getTasksByAuthorAndAssignee(authorEmail, assigneeEmail);
+        List<TaskListResponse> result = taskService.getTasks(new TaskQuery(Set.of(), authorEmail, assigneeEmail, null, null), TaskCursor.FIRST, 50).tasks();
 
         assertEquals(2, result.size());
         assertEquals(authorEmail, result.get(0).author());
         assertEquals(assigneeEmail, result.get(0).assignee());
-        verify(taskRepository).findAllByAuthorIgnoreCaseAndAssigneeIgnoreCase(
-                eq(authorEmail), eq(assigneeEmail), any(Sort.class));
+        verify(taskRepository).findPage(
+                eq(new TaskQuery(Set.of(), authorEmail, assigneeEmail, null, null)), eq(TaskCursor.FIRST), eq(51), eq(TaskListResponse.FIELDS));
     }
 
     @Test
@@ -175,7 +286,7 @@ public class TaskServiceTest {
 
         when(taskMapper.toResponse(any(Task.class))).thenAnswer(inv -> {
             Task t = inv.getArgument(0);
-            return new TaskResponse("1", t.getTitle(), t.getDescription(), t.getStatus().toString(), t.getAuthor(), t.getAssignee());
+            return new TaskResponse("1", t.getTitle(), t.getDescription(), t.getStatus().toString(), t.getAuthor(), t.getAssignee(), 0L);
         });
 
         TaskResponse response = taskService.createTask(title, description, authorEmail);
@@ -199,23 +310,35 @@ public class TaskServiceTest {
         String assigneeEmail = "user2@mail.com";
         String authorEmail = "user1@mail.com";
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-        existingTask.setAssignee(null);
+        UpdatedTask updatedTask = updated(taskId, authorEmail, null, assigneeEmail);
 
-        Task updatedTask = new Task("Test Task", "Description", authorEmail);
-        updatedTask.setAssignee(assigneeEmail);
+        when(accountRepository.existsByEmail(assigneeEmail)).thenReturn(true);
+        when(taskRepository.assignAll(List.of(taskId), assigneeEmail, authorEmail, null)).thenReturn(List.of(updatedTask));
+        when(taskMapper.toResponse(updatedTask.task(), updatedTask.version())).thenReturn(new TaskResponse("1", "Test Task", "Description", "CREATED", authorEmail, assigneeEmail, 0L));
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(accountRepository.existsByEmailIgnoreCase(assigneeEmail)).thenReturn(true);
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
-        when(taskMapper.toResponse(updatedTask)).thenReturn(new TaskResponse("1", "Test Task", "Description", "CREATED", authorEmail, assigneeEmail));
-
-        TaskResponse response = taskService.assignTask(taskId, assigneeEmail, authorEmail);
+        TaskResponse response = taskService.assignTask(taskId, assigneeEmail, authorEmail, null);
 
         assertEquals(assigneeEmail, response.assignee());
-        verify(taskRepository).findById(taskId);
-        verify(accountRepository).existsByEmailIgnoreCase(assigneeEmail);
-        verify(taskRepository).save(existingTask);
+        verify(accountRepository).existsByEmail(assigneeEmail);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findVersion(any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void assignTask_mixedCaseAssignee_storesLowercaseEmail() {
+        Long taskId = 1L;
+        String authorEmail = "user1@mail.com";
+
+        when(accountRepository.existsByEmail("user2@mail.com")).thenReturn(true);
+        when(taskRepository.assignAll(List.of(taskId), "user2@mail.com", authorEmail, null))
+                .thenReturn(List.of(updated(taskId, authorEmail, null, "user2@mail.com")));
+
+        taskService.assignTask(taskId, "User2@Mail.com", authorEmail, null);
+
+        verify(accountRepository).existsByEmail("user2@mail.com");
+        verify(taskRepository).assignAll(List.of(taskId), "user2@mail.com", authorEmail, null);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(authorEmail, null, "user2@mail.com"));
     }
 
     @Test
@@ -224,11 +347,14 @@ public class TaskServiceTest {
         String assigneeEmail = "user2@mail.com";
         String authorEmail = "user1@mail.com";
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(assigneeEmail)).thenReturn(true);
+        when(taskRepository.assignAll(List.of(taskId), assigneeEmail, authorEmail, null)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.empty());
 
-        Exception exception = assertThrows(TaskNotFoundException.class, () -> taskService.assignTask(taskId, assigneeEmail, authorEmail));
+        Exception exception = assertThrows(TaskNotFoundException.class, () -> taskService.assignTask(taskId, assigneeEmail, authorEmail, null));
 
         assertTrue(exception.getMessage().contains("Task not found with id: 999"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -237,36 +363,34 @@ public class TaskServiceTest {
         String assigneeEmail = "nonexistent@mail.com";
         String authorEmail = "user1@mail.com";
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(accountRepository.existsByEmailIgnoreCase(assigneeEmail)).thenReturn(false);
+        when(accountRepository.existsByEmail(assigneeEmail)).thenReturn(false);
 
         Exception exception = assertThrows(
                 AccountNotFoundException.class,
-                () -> taskService.assignTask(taskId, assigneeEmail, authorEmail)
+                () -> taskService.assignTask(taskId, assigneeEmail, authorEmail, null)
         );
 
         assertTrue(exception.getMessage().contains("Assignee not found with email: nonexistent@mail.com"));
+        verify(taskRepository, never()).assignAll(any(), any(), any(), any());
     }
 
     @Test
     void assignTask_userIsNotAuthor_throwsForbiddenException() {
         Long taskId = 1L;
         String assigneeEmail = "user2@mail.com";
-        String authorEmail = "user1@mail.com";
         String differentEmail = "user3@mail.com";
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(accountRepository.existsByEmail(assigneeEmail)).thenReturn(true);
+        when(taskRepository.assignAll(List.of(taskId), assigneeEmail, differentEmail, null)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.of(1L));
 
         Exception exception = assertThrows(
                 ForbiddenException.class,
-                () -> taskService.assignTask(taskId, assigneeEmail, differentEmail)
+                () -> taskService.assignTask(taskId, assigneeEmail, differentEmail, null)
         );
 
         assertTrue(exception.getMessage().contains("Only task author can assign tasks"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -275,24 +399,18 @@ public class TaskServiceTest {
         String assigneeEmail = "none";
         String authorEmail = "user1@mail.com";
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-        existingTask.setAssignee("user2@mail.com");
-
-        Task updatedTask = new Task("Test Task", "Description", authorEmail);
-        updatedTask.setAssignee(null);
+        UpdatedTask updatedTask = updated(taskId, authorEmail, "user2@mail.com", null);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
-        when(taskMapper.toResponse(updatedTask)).thenReturn(
-                new TaskResponse("1", "Test Task", "Description", "CREATED", authorEmail, "none")
+        when(taskRepository.assignAll(List.of(taskId), null, authorEmail, null)).thenReturn(List.of(updatedTask));
+        when(taskMapper.toResponse(updatedTask.task(), updatedTask.version())).thenReturn(
+                new TaskResponse("1", "Test Task", "Description", "CREATED", authorEmail, "none", 0L)
         );
 
-        TaskResponse response = taskService.assignTask(taskId, assigneeEmail, authorEmail);
+        TaskResponse response = taskService.assignTask(taskId, assigneeEmail, authorEmail, null);
 
         assertEquals("none", response.assignee());
-        verify(taskRepository).findById(taskId);
-        verify(taskRepository).save(existingTask);
-        verify(accountRepository, never()).existsByEmailIgnoreCase(anyString());
+        verify(accountRepository, never()).existsByEmail(anyString());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(authorEmail, "user2@mail.com", null));
     }
 
     @Test
@@ -301,19 +419,18 @@ public class TaskServiceTest {
         String authorEmail = "user1@mail.com";
         TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
+        UpdatedTask updatedTask = updated(taskId, authorEmail, null, null);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(existingTask);
-        when(taskMapper.toResponse(existingTask)).thenReturn(
-                new TaskResponse("1", "Test Task", "Description", "IN_PROGRESS", authorEmail, "none")
+        when(taskRepository.updateStatusAll(List.of(taskId), newStatus, authorEmail, null)).thenReturn(List.of(updatedTask));
+        when(taskMapper.toResponse(updatedTask.task(), updatedTask.version())).thenReturn(
+                new TaskResponse("1", "Test Task", "Description", "IN_PROGRESS", authorEmail, "none", 0L)
         );
 
-        TaskResponse response = taskService.updateTaskStatus(taskId, newStatus, authorEmail);
+        TaskResponse response = taskService.updateTaskStatus(taskId, newStatus, authorEmail, null);
 
         assertEquals("IN_PROGRESS", response.status());
-        verify(taskRepository).findById(taskId);
-        verify(taskRepository).save(existingTask);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
@@ -323,56 +440,209 @@ public class TaskServiceTest {
         String assigneeEmail = "user2@mail.com";
         TaskStatus newStatus = TaskStatus.COMPLETED;
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-        existingTask.setAssignee(assigneeEmail);
+        UpdatedTask updatedTask = updated(taskId, authorEmail, assigneeEmail, assigneeEmail);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(existingTask);
-        when(taskMapper.toResponse(existingTask)).thenReturn(
-                new TaskResponse("1", "Test Task", "Description", "COMPLETED", authorEmail, assigneeEmail)
+        when(taskRepository.updateStatusAll(List.of(taskId), newStatus, assigneeEmail, null)).thenReturn(List.of(updatedTask));
+        when(taskMapper.toResponse(updatedTask.task(), updatedTask.version())).thenReturn(
+                new TaskResponse("1", "Test Task", "Description", "COMPLETED", authorEmail, assigneeEmail, 0L)
         );
 
-        TaskResponse response = taskService.updateTaskStatus(taskId, newStatus, assigneeEmail);
+        TaskResponse response = taskService.updateTaskStatus(taskId, newStatus, assigneeEmail, null);
 
         assertEquals("COMPLETED", response.status());
-        verify(taskRepository).findById(taskId);
-        verify(taskRepository).save(existingTask);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(authorEmail, assigneeEmail, assigneeEmail));
     }
 
     @Test
     void updateTaskStatus_userIsNeitherAuthorNorAssignee_throwsForbiddenException() {
         Long taskId = 1L;
-        String authorEmail = "user1@mail.com";
-        String assigneeEmail = "user2@mail.com";
         String differentUser = "user3@mail.com";
         TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-        Task existingTask = new Task("Test Task", "Description", authorEmail);
-        existingTask.setAssignee(assigneeEmail);
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.updateStatusAll(List.of(taskId), newStatus, differentUser, null)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.of(1L));
 
         Exception exception = assertThrows(
                 ForbiddenException.class,
-                () -> taskService.updateTaskStatus(taskId, newStatus, differentUser)
+                () -> taskService.updateTaskStatus(taskId, newStatus, differentUser, null)
         );
 
         assertTrue(exception.getMessage().contains("Only task author or assignee can update task status"));
     }
 
+    @Test
+    void updateTaskStatus_staleVersion_throwsPreconditionFailedException() {
+        Long taskId = 1L;
+        String userEmail = "user1@mail.com";
+
+        when(taskRepository.updateStatusAll(List.of(taskId), TaskStatus.COMPLETED, userEmail, 1L)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.of(2L));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userEmail, 1L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void assignTask_currentVersionButNotAuthor_throwsForbiddenException() {
+        Long taskId = 1L;
+
+        when(accountRepository.existsByEmail("user2@mail.com")).thenReturn(true);
+        when(taskRepository.assignAll(List.of(taskId), "user2@mail.com", "user3@mail.com", 1L)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.of(1L));
+
+        assertThrows(ForbiddenException.class,
+                () -> taskService.assignTask(taskId, "user2@mail.com", "user3@mail.com", 1L));
+    }
+
+    @Test
+    void createTasks_insertsAllAndPublishesEventsPerTask() {
+        List<CreateTaskRequest> requests = List.of(
+                new CreateTaskRequest("T1", "D1"),
+                new CreateTaskRequest("T2", "D2")
+        );
+        when(taskRepository.insertAll(anyList())).thenReturn(List.of(10L, 11L));
+
+        List<Long> ids = taskService.createTasks(requests, "User@Mail.com");
+
+        assertEquals(List.of(10L, 11L), ids);
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).insertAll(captor.capture());
+        assertEquals(List.of("T1", "T2"), captor.getValue().stream().map(Task::getTitle).toList());
+        assertTrue(captor.getValue().stream().allMatch(task -> "user@mail.com".equals(task.getAuthor())));
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent("user@mail.com", null, null));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        List<TaskListRow> created = events.getAllValues().stream()
+                .filter(TaskActivityEvent.class::isInstance)
+                .map(event -> ((TaskActivityEvent) event).task())
+                .toList();
+        assertEquals(List.of(10L, 11L), created.stream().map(TaskListRow::id).toList());
+        assertEquals(List.of("T1", "T2"), created.stream().map(TaskListRow::title).toList());
+    }
+
+    @Test
+    void createTasks_tooManyTasks_throwsIllegalArgumentException() {
+        List<CreateTaskRequest> requests = Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1,
+                new CreateTaskRequest("T", "D"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(requests, "user@mail.com"));
+        verify(taskRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void assignTasks_splitsUntouchedIdsIntoForbiddenAndMissing() {
+        when(accountRepository.existsByEmail("dev@mail.com")).thenReturn(true);
+        when(taskRepository.assignAll(Set.of(1L, 2L, 3L), "dev@mail.com", "author@mail.com", null))
+                .thenReturn(List.of(updated(1L, "author@mail.com", null, "dev@mail.com")));
+        when(taskRepository.findExistingIds(Set.of(2L, 3L))).thenReturn(List.of(2L));
+
+        BulkUpdateResponse response = taskService.assignTasks(List.of(1L, 2L, 3L, 1L), "Dev@Mail.com", "author@mail.com");
+
+        assertEquals(List.of("1"), response.updated());
+        assertEquals(List.of("2"), response.forbidden());
+        assertEquals(List.of("3"), response.missing());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent("author@mail.com", null, "dev@mail.com"));
+    }
+
+    @Test
+    void assignTasks_unknownAssignee_throwsAccountNotFoundException() {
+        when(accountRepository.existsByEmail("ghost@mail.com")).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class,
+                () -> taskService.assignTasks(List.of(1L), "ghost@mail.com", "author@mail.com"));
+        verify(taskRepository, never()).assignAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void assignTasks_none_unassignsWithoutAccountLookup() {
+        when(taskRepository.assignAll(Set.of(1L), null, "author@mail.com", null))
+                .thenReturn(List.of(updated(1L, "author@mail.com", "dev@mail.com", null)));
+
+        BulkUpdateResponse response = taskService.assignTasks(List.of(1L), "none", "author@mail.com");
+
+        assertEquals(List.of("1"), response.updated());
+        verifyNoInteractions(accountRepository);
+        verify(taskRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void updateTasksStatus_publishesOneEventPerAuthorAndAssignee() {
+        when(taskRepository.updateStatusAll(Set.of(1L, 2L), TaskStatus.COMPLETED, "dev@mail.com", null)).thenReturn(List.of(
+                updated(1L, "author@mail.com", "dev@mail.com", "dev@mail.com"),
+                updated(2L, "author@mail.com", "dev@mail.com", "dev@mail.com")));
+
+        BulkUpdateResponse response = taskService.updateTasksStatus(List.of(1L, 2L), TaskStatus.COMPLETED, "dev@mail.com");
+
+        assertEquals(List.of("1", "2"), response.updated());
+        assertTrue(response.forbidden().isEmpty());
+        assertTrue(response.missing().isEmpty());
+        verify(eventPublisher, times(1)).publishEvent(new TaskChangedEvent("author@mail.com", "dev@mail.com", "dev@mail.com"));
+    }
+
+    @Test
+    void searchTasks_returnsRowsInRankOrder() {
+        TaskListRow t1 = row(1L, "Fix login", "D1", "user1@mail.com", null);
+        TaskListRow t2 = row(2L, "Login page", "D2", "user1@mail.com", null);
+
+        when(taskSearchIndex.search("login", 20)).thenReturn(List.of(t2, t1));
+        when(taskMapper.toListResponse(any(TaskListRow.class)))
+                .thenAnswer(inv -> new TaskListResponse(((TaskListRow) inv.getArgument(0)).id().toString(),
+                        "T", "D", "CREATED", "user1@mail.com", "none", 0));
+
+        List<TaskListResponse> results = taskService.searchTasks("login", 20);
+
+        assertEquals(List.of("2", "1"), results.stream().map(TaskListResponse::id).toList());
+        verify(taskRepository, never()).findRows(any());
+    }
+
+    @Test
+    void searchTasks_noMatches_returnsEmptyList() {
+        when(taskSearchIndex.search("nothing", 20)).thenReturn(List.of());
+
+        assertTrue(taskService.searchTasks("nothing", 20).isEmpty());
+    }
+
+    @Test
+    void searchTasks_blankQuery_throwsIllegalArgumentException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("  ", 20));
+
+        assertEquals("Search query must not be blank", exception.getMessage());
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void searchTasks_limitTooLarge_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("login", 101));
+        verifyNoInteractions(taskSearchIndex);
+    }
+
     @Test
     void updateTaskStatus_taskNotFound_throwsTaskNotFoundException() {
         Long taskId = 999L;
         String userEmail = "user1@mail.com";
         TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatusAll(List.of(taskId), newStatus, userEmail, null)).thenReturn(List.of());
+        when(taskRepository.findVersion(taskId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(
                 TaskNotFoundException.class,
-                () -> taskService.updateTaskStatus(taskId, newStatus, userEmail)
+                () -> taskService.updateTaskStatus(taskId, newStatus, userEmail, null)
         );
 
         assertTrue(exception.getMessage().contains("Task not found with id: 999"));
     }
+
+    private static UpdatedTask updated(Long id, String author, String previousAssignee, String assignee) {
+        return new UpdatedTask(new TaskListRow(id, "Test Task", "Description", TaskStatus.CREATED, author, assignee, 0,
+                LocalDateTime.of(2025, 1, 1, 10, 0)), previousAssignee, 1L);
+    }
+
+    private static TaskListRow row(Long id, String title, String description, String author, String assignee) {
+        return new TaskListRow(id, title, description, TaskStatus.CREATED, author, assignee, 0,
+                LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id));
+    }
 }
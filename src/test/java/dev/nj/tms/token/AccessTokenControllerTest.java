@@ -44,7 +44,7 @@ public class AccessTokenControllerTest {
         String encoded = passwordEncoder.encode(password);
         Account mockAccount = new Account(email, encoded);
 
-        when(accountRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(mockAccount));
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(mockAccount));
         when(passwordEncoder.matches(password, encoded)).thenReturn(true);
 
         AccessTokenResponse tokenResponse = new AccessTokenResponse("jwt-token");
@@ -64,7 +64,7 @@ public class AccessTokenControllerTest {
         String encoded = passwordEncoder.encode(password);
         Account mockAccount = new Account(email, encoded);
 
-        when(accountRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(mockAccount));
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(mockAccount));
         when(passwordEncoder.matches(wrongPassword, encoded)).thenReturn(false);
 
         mockMvc.perform(post("/api/auth/token")
@@ -83,7 +83,7 @@ public class AccessTokenControllerTest {
     void createToken_invalidAuth_doesNotCallService() throws Exception {
         String email = "nonexistent@mail.com";
 
-        when(accountRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.empty());
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         mockMvc.perform(post("/api/auth/token")
                         .with(httpBasic(email, "password")))
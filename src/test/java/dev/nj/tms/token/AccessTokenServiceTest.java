@@ -31,14 +31,14 @@ public class AccessTokenServiceTest {
         String encodedPassword = "$2a$10$encodedPassword";
 
         Account account = new Account(email, encodedPassword);
-        when(accountRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(account));
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(account));
 
         AccessTokenResponse token = tokenService.createToken(email);
 
         assertNotNull(token);
         assertTrue(token.token().length() >= 10);
 
-        verify(accountRepository).findByEmailIgnoreCase(email);
+        verify(accountRepository).findByEmail(email);
         verify(tokenRepository, atLeastOnce()).save(any(AccessToken.class));
     }
 
@@ -46,7 +46,7 @@ public class AccessTokenServiceTest {
     void createToken_unknownUser_throwsUnauthorized() {
         String email = "test@mail.com";
 
-        when(accountRepository.findByEmailIgnoreCase(email))
+        when(accountRepository.findByEmail(email))
                 .thenReturn(Optional.empty());
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> tokenService.createToken(email));